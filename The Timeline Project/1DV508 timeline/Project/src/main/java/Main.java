@@ -1,8 +1,8 @@
-import controllers.GUIManager;
-import javafx.application.Application;
-
-public class Main {
-    public static void main(String[] args) {
-        Application.launch(GUIManager.class);     //open the application, runs from Main so VMOptions aren't needed
-    }
-}
+import controllers.GUIManager;
+import javafx.application.Application;
+
+public class Main {
+    public static void main(String[] args) {
+        Application.launch(GUIManager.class);     //open the application, runs from Main so VMOptions aren't needed
+    }
+}
@@ -0,0 +1,108 @@
+package controllers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+//How many events start in each stretch of columns, worked out once for every power-of-two stretch width so a zoomed out
+//view can draw a glyph per stretch instead of every bar. Level k groups 2^k columns, and only stretches with events in
+//them are kept, in column order, so drawing a view only touches the stretches inside it
+class EventClusters {
+    private final List<int[]> buckets = new ArrayList<>();                 //per level, index of each stretch (start column >> level)
+    private final List<int[]> counts = new ArrayList<>();                  //per level, how many events start in it
+    private final List<EventPlacement[]> firsts = new ArrayList<>();       //per level, an event from it, the only one if count is 1
+
+    EventClusters(List<? extends EventPlacement> placed) {
+        EventPlacement[] byStart = placed.toArray(new EventPlacement[0]);
+        Arrays.sort(byStart, Comparator.comparingInt(EventPlacement::getStartColumn));
+
+        int n = 0;                                  //level 0, one stretch per column
+        int[] bucket = new int[byStart.length];
+        int[] count = new int[byStart.length];
+        EventPlacement[] first = new EventPlacement[byStart.length];
+        for (EventPlacement p : byStart) {
+            if (n > 0 && bucket[n - 1] == p.getStartColumn()) {
+                count[n - 1]++;
+            } else {
+                bucket[n] = p.getStartColumn();
+                count[n] = 1;
+                first[n++] = p;
+            }
+        }
+        addLevel(bucket, count, first, n);
+
+        while (n > 1) {                             //each level merges pairs of neighbouring stretches from the one below
+            int[] below = bucket;
+            int[] belowCount = count;
+            EventPlacement[] belowFirst = first;
+            int belowSize = n;
+            n = 0;
+            bucket = new int[belowSize];
+            count = new int[belowSize];
+            first = new EventPlacement[belowSize];
+            for (int i = 0; i < belowSize; i++) {
+                int merged = below[i] >> 1;
+                if (n > 0 && bucket[n - 1] == merged) {
+                    count[n - 1] += belowCount[i];
+                } else {
+                    bucket[n] = merged;
+                    count[n] = belowCount[i];
+                    first[n++] = belowFirst[i];
+                }
+            }
+            addLevel(bucket, count, first, n);
+        }
+    }
+
+    private void addLevel(int[] bucket, int[] count, EventPlacement[] first, int size) {
+        buckets.add(Arrays.copyOf(bucket, size));
+        counts.add(Arrays.copyOf(count, size));
+        firsts.add(Arrays.copyOf(first, size));
+    }
+
+    int levelCount() {
+        return buckets.size();
+    }
+
+    int levelFor(double columnWidth, double minWidth) {     //the finest level whose stretches are at least minWidth pixels wide
+        int level = 0;
+        while (level < levelCount() - 1 && (1L << level) * columnWidth < minWidth)
+            level++;
+        return level;
+    }
+
+    int size(int level) {
+        return buckets.get(level).length;
+    }
+
+    int firstAtOrAfter(int level, double column) {          //binary search for the first stretch that ends after the column
+        int[] bucket = buckets.get(level);
+        int low = 0;
+        int high = bucket.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (((long) bucket[mid] + 1 << level) <= column)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    long startColumn(int level, int i) {
+        return (long) buckets.get(level)[i] << level;
+    }
+
+    long columnWidth(int level) {
+        return 1L << level;
+    }
+
+    int count(int level, int i) {
+        return counts.get(level)[i];
+    }
+
+    EventPlacement first(int level, int i) {
+        return firsts.get(level)[i];
+    }
+}
@@ -0,0 +1,58 @@
+package controllers;
+
+import database.Event;
+import database.Timeline;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Keeps EventNodes between redraws of a timeline. An event gets back the node it had last time, so an unchanged event's
+//node is left as it was, and nodes of events that went away are recycled for new ones instead of building more
+class EventNodePool {
+    private Map<Integer, EventNode> byEvent = new HashMap<>();      //last redraw's nodes by event ID
+    private final Deque<EventNode> idle = new ArrayDeque<>();
+
+    List<EventNode> nodesFor(List<Event> events, Timeline activeTimeline, TimelineView parentController) {
+        Map<Integer, EventNode> inUse = new HashMap<>();
+        List<EventNode> out = new ArrayList<>(events.size());
+        for (Event e : events) {
+            EventNode node = byEvent.remove(e.getID());
+            if (node == null)
+                node = idle.isEmpty() ? new EventNode() : idle.pop();
+            node.setActiveEvent(e, activeTimeline, parentController);
+            inUse.put(e.getID(), node);
+            out.add(node);
+        }
+        idle.addAll(byEvent.values());                              //whatever wasn't claimed is free for next time
+        byEvent = inUse;
+        return out;
+    }
+
+    EventNode nodeOf(int eventID) {                                 //null if the event has no node
+        return byEvent.get(eventID);
+    }
+
+    EventNode nodeFor(Event event, Timeline activeTimeline, TimelineView parentController) {    //the event's node updated, or a new one
+        EventNode node = byEvent.get(event.getID());
+        if (node == null) {
+            node = idle.isEmpty() ? new EventNode() : idle.pop();
+            byEvent.put(event.getID(), node);
+        }
+        node.setActiveEvent(event, activeTimeline, parentController);
+        return node;
+    }
+
+    void recycle(int eventID) {
+        EventNode node = byEvent.remove(eventID);
+        if (node != null)
+            idle.push(node);
+    }
+
+    int idleCount() {
+        return idle.size();
+    }
+}
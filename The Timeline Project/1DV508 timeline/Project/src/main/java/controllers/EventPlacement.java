@@ -0,0 +1,98 @@
+package controllers;
+
+import database.Event;
+import database.Timeline;
+import utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//Where an event sits on a timeline: the column it starts in, how many columns it spans and the row it was placed on
+//Shared by the grid of EventNodes and the canvas renderer, so both lay events out the same way
+class EventPlacement implements Comparable<EventPlacement> {
+    private Event activeEvent;
+    private int startColumn;
+    private int columnSpan;
+    private int row;
+
+    EventPlacement() {
+    }
+
+    EventPlacement(Event event, Timeline activeTimeline) {
+        place(event, activeTimeline);
+    }
+
+    void place(Event event, Timeline activeTimeline) {
+        this.activeEvent = event;
+        setStartColumn(DateUtils.distanceBetween(activeTimeline.getStartDate(), event.getStartDate(), activeTimeline.getScale()));
+        setColumnSpan(Math.max(DateUtils.distanceBetween(event.getStartDate(), event.getEndDate(), activeTimeline.getScale()), 1));   //instant events still need 1 whole column
+    }
+
+    //Cuts each placement to the timeline's columns and gives it the first row (from 1, row 0 is the axis) where it doesn't
+    //overlap anything placed before it. Expects them sorted, returns the ones left with something to display
+    static <T extends EventPlacement> List<T> placeAll(List<T> sorted, int columnCount) {
+        List<T> placed = new ArrayList<>();
+        LanePacker lanes = new LanePacker();
+        for (T newNode : sorted) {
+            if (!newNode.clip(columnCount))
+                continue;
+
+            newNode.setRow(lanes.place(newNode.getStartColumn(), newNode.getEndColumn()));
+            placed.add(newNode);
+        }
+        return placed;
+    }
+
+    boolean clip(int columnCount) {             //cuts it to the timeline's columns, false if nothing is left to display
+        if (startColumn < 0) {                                        //if node starts before the timeline begins, cut the beginning
+            columnSpan += startColumn;
+            startColumn = 0;
+        }
+        if (startColumn + columnSpan > columnCount)                   //if node goes past the timeline's end, cut the end
+            columnSpan = columnCount - startColumn - 1;
+        return columnSpan >= 1;                                       //if, after cutting, nothing remains, don't display it at all
+    }
+
+    @Override
+    public int compareTo(EventPlacement o) {     //sorts by highest priority first, then earlier start, then by longest span as tiebreakers
+        if (this.activeEvent.getEventPriority() != o.activeEvent.getEventPriority())
+            return o.activeEvent.getEventPriority() - this.activeEvent.getEventPriority();
+        if (this.startColumn != o.startColumn)
+            return this.startColumn - o.startColumn;
+        if (this.columnSpan != o.columnSpan)
+            return o.columnSpan - this.columnSpan;
+        return this.activeEvent.getID() - o.activeEvent.getID();        //if events are basically identical, at least force consistent placement by sorting by ID
+    }
+
+    Event getEvent() {
+        return activeEvent;
+    }
+
+    void setStartColumn(int startColumn) {
+        this.startColumn = startColumn;
+    }
+
+    void setColumnSpan(int columnSpan) {
+        this.columnSpan = columnSpan;
+    }
+
+    int getRow() {
+        return row;
+    }
+
+    void setRow(int row) {
+        this.row = row;
+    }
+
+    int getStartColumn() {
+        return startColumn;
+    }
+
+    int getColumnSpan() {
+        return columnSpan;
+    }
+
+    int getEndColumn() {            //exclusive
+        return startColumn + columnSpan;
+    }
+}
@@ -1,141 +1,240 @@
-package controllers;
-
-import database.Timeline;
-import javafx.embed.swing.SwingFXUtils;
-import javafx.fxml.FXML;
-import javafx.scene.control.CheckBox;
-import javafx.scene.image.ImageView;
-import javafx.scene.image.WritableImage;
-import javafx.stage.Stage;
-import utils.DateUtils;
-import utils.ImageUtils;
-
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.awt.geom.Rectangle2D;
-import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-
-public class ImageExport {
-    @FXML CheckBox checkboxName;
-    @FXML CheckBox checkboxRange;
-    @FXML CheckBox checkboxCreator;
-    @FXML CheckBox checkboxLogo;
-    @FXML ImageView imageView;
-    private Timeline activeTimeline;
-    private WritableImage originalImage;
-    private WritableImage previewImage;
-
-    // Executes on startup (when export button is pressed when viewing a timeline)
-    void setUp(WritableImage image, Timeline activeTimeline) {
-        this.activeTimeline = activeTimeline;
-        originalImage = image;
-        burnIn();                     //defaults to having LyfeLine logo watermarked, can be toggled by user
-    }
-
-    // Executes when "Export" button is pressed in the pop-up
-    @FXML
-    void saveImage() throws IOException {
-        BufferedImage finalBuffer = SwingFXUtils.fromFXImage(previewImage, null);
-        File outputFile = ImageUtils.saveFileChooser(activeTimeline.getName());
-        if (outputFile != null)
-            ImageIO.write(finalBuffer, "png", outputFile);
-
-        close();
-    }
-
-    // execute when any checkbox is clicked
-    @FXML
-    void burnIn() {
-        previewImage = originalImage;
-
-        if (checkboxName.isSelected())
-            burnName();
-        if (checkboxRange.isSelected())
-            burnRange();
-        if (checkboxCreator.isSelected())
-            burnCreator();
-        if (checkboxLogo.isSelected())
-            burnLogo();
-
-        imageView.setImage(previewImage);
-    }
-
-    private void burnName() {
-        String text = activeTimeline.getName();
-        burnText(text, 1.0 / 10, false);
-    }
-
-    private void burnCreator() {
-        String text = "Made with LyfeLine by: " + GUIManager.loggedInUser.getUserName();
-        burnText(text, 29.0 / 30, false);
-    }
-
-    private void burnRange() {
-        String text = DateUtils.ddmmyyToString(activeTimeline);
-        burnText(text, 29.0 / 30, true);
-    }
-
-    private void burnText(String text, double yPlacementRatio, boolean adjustDown) {
-        //initializes necessary graphic properties
-        BufferedImage originalBuffer = SwingFXUtils.fromFXImage(previewImage, null);
-        Graphics2D workingImage = (Graphics2D) originalBuffer.getGraphics();
-        workingImage.drawImage(originalBuffer, 0, 0, null);
-        workingImage.setColor(Color.BLACK);
-        workingImage.setFont(new Font(Font.SANS_SERIF, Font.BOLD, originalBuffer.getHeight() / 30));
-        Rectangle2D rect = workingImage.getFontMetrics().getStringBounds(text, workingImage);
-
-        //calculate position of text
-        int xPlacement = (int) (previewImage.getWidth() - rect.getWidth()) / 2;     //centered
-        int yPlacement = (int) (previewImage.getHeight() * yPlacementRatio);
-        if (adjustDown)   //when placing two fields near each other, one should be adjusted downwards so they don't overlap
-            yPlacement -= rect.getHeight();
-
-        //add text overlay to the image
-        workingImage.drawString(text, xPlacement, yPlacement);
-        previewImage = SwingFXUtils.toFXImage(originalBuffer, null);
-        workingImage.dispose();
-    }
-
-    private void burnLogo() {
-        try {
-            //Logo settings
-            BufferedImage logoBuffer = resize(ImageIO.read(new File("src/main/resources/Logo.png")));
-
-            //initializes necessary graphic properties
-            BufferedImage originalBuffer = SwingFXUtils.fromFXImage(previewImage, null);
-            Graphics2D workingImage = (Graphics2D) originalBuffer.getGraphics();
-            workingImage.drawImage(originalBuffer, 0, 0, null);
-            workingImage.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
-
-            //calculates the coordinate where the String is painted
-            int yPlacement = (originalBuffer.getHeight() - originalBuffer.getHeight() / 15);
-            int xPlacement = (originalBuffer.getWidth() / 100);
-
-            //add text watermark to the image
-            workingImage.drawImage(logoBuffer, xPlacement, yPlacement, null);
-            previewImage = SwingFXUtils.toFXImage(originalBuffer, null);
-            workingImage.dispose();
-        } catch (IOException e) {
-            System.err.println("Logo.png file not found.");
-        }
-    }
-
-    //at the moment resizes the logo to hardcoded 100x100, seems to work well and the logo watermark should be reasonably small.
-    private BufferedImage resize(BufferedImage img) {
-        final int width = 104;
-        final int height = 40;
-        Image tmp = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = resized.createGraphics();
-        g2d.drawImage(tmp, 0, 0, null);
-        g2d.dispose();
-        return resized;
-    }
-
-    @FXML
-    void close() {
-        ((Stage) imageView.getScene().getWindow()).close();
-    }
-}
+package controllers;
+
+import database.Timeline;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.stage.Stage;
+import utils.DateUtils;
+import utils.ImageUtils;
+import utils.PngStreamWriter;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ImageExport {
+    static final int BAND_HEIGHT = 128;         //rows rendered at a time when streaming the whole timeline to a file
+    static final int TILE_WIDTH = 2048;
+    @FXML CheckBox checkboxName;
+    @FXML CheckBox checkboxRange;
+    @FXML CheckBox checkboxCreator;
+    @FXML CheckBox checkboxLogo;
+    @FXML ImageView imageView;
+    private static BufferedImage logo;          //decoded and scaled once, it's the same for every export
+    private Timeline activeTimeline;
+    private BufferedImage originalBuffer;       //the snapshot as it came, never drawn on
+    private BufferedImage workingBuffer;        //the snapshot with the burn-in on top, what gets shown and saved
+    private WritableImage previewImage;
+    private TimelineTiles fullSize;             //null when the preview is the whole picture
+    private Color background;
+    private Font burnInFont;
+    private final Map<String, Rectangle2D> textBounds = new HashMap<>();   //of each text in burnInFont
+
+    // Executes on startup (when export button is pressed when viewing a timeline)
+    void setUp(WritableImage image, Timeline activeTimeline) {
+        this.activeTimeline = activeTimeline;
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        originalBuffer = SwingFXUtils.fromFXImage(image, new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));   //the only conversion from FX
+        workingBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        previewImage = new WritableImage(width, height);
+        imageView.setImage(previewImage);
+        burnIn();                     //defaults to having LyfeLine logo watermarked, can be toggled by user
+    }
+
+    //For the whole timeline: the image is a scaled down preview, the file gets streamed from the tiles at full size
+    void setUp(WritableImage preview, Timeline activeTimeline, TimelineTiles fullSize, Color background) {
+        this.fullSize = fullSize;
+        this.background = background;
+        setUp(preview, activeTimeline);
+    }
+
+    // Executes when "Export" button is pressed in the pop-up
+    @FXML
+    void saveImage() throws IOException {
+        File outputFile = ImageUtils.saveFileChooser(activeTimeline.getName());
+        if (outputFile != null && fullSize != null) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                writeTiledPng(fullSize, background, this::paintOverlay, out);
+            }
+        } else if (outputFile != null) {
+            ImageIO.write(workingBuffer, "png", outputFile);
+        }
+
+        close();
+    }
+
+    //Streams the timeline into a PNG a band of rows at a time, with the padding and burn-in drawn into each band on the
+    //way, so memory use depends on the width and BAND_HEIGHT and not on the size of the whole image
+    static void writeTiledPng(TimelineTiles tiles, Color background, Overlay overlay, OutputStream out) throws IOException {
+        int width = tiles.getWidth();
+        int height = paddedHeight(tiles.getHeight());
+        int offset = paddingOffset(tiles.getHeight());
+        BufferedImage band = new BufferedImage(width, BAND_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        int[] bandPixels = ((DataBufferInt) band.getRaster().getDataBuffer()).getData();
+        int[] tile = new int[TILE_WIDTH * BAND_HEIGHT];
+        PngStreamWriter png = new PngStreamWriter(out, width, height);
+
+        for (int top = 0; top < height; top += BAND_HEIGHT) {
+            int rows = Math.min(BAND_HEIGHT, height - top);
+            Arrays.fill(bandPixels, background.getRGB());
+
+            int contentTop = Math.max(top, offset);                                 //rows of the timeline itself in this band
+            int contentRows = Math.min(top + rows, offset + tiles.getHeight()) - contentTop;
+            for (int x = 0; x < width && contentRows > 0; x += TILE_WIDTH) {
+                int tileWidth = Math.min(TILE_WIDTH, width - x);
+                tiles.renderTile(x, contentTop - offset, tileWidth, contentRows, tile);
+                for (int r = 0; r < contentRows; r++)
+                    System.arraycopy(tile, r * tileWidth, bandPixels, (contentTop - top + r) * width + x, tileWidth);
+            }
+
+            Graphics2D g = band.createGraphics();           //burn-in is placed on the whole image, the band just shows its part
+            g.clipRect(0, 0, width, rows);
+            g.translate(0, -top);
+            overlay.paint(g, width, height);
+            g.dispose();
+
+            for (int r = 0; r < rows; r++)
+                png.writeRow(bandPixels, r * width);
+        }
+        png.close();
+    }
+
+    static int paddedHeight(int height) {       //room for the burn-in above and below the timeline
+        return (int) (height * 1.30);
+    }
+
+    static int paddingOffset(int height) {
+        return (int) (height * 0.15);
+    }
+
+    interface Overlay {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    // execute when any checkbox is clicked
+    //Puts the untouched snapshot back into the working raster and draws the burn-in over it, then copies the pixels
+    //straight into the preview's image, so a click costs two array copies and the overlay, not any image conversions
+    @FXML
+    void burnIn() {
+        int width = workingBuffer.getWidth();
+        int height = workingBuffer.getHeight();
+        int[] working = pixelsOf(workingBuffer);
+        System.arraycopy(pixelsOf(originalBuffer), 0, working, 0, working.length);
+
+        Graphics2D workingImage = workingBuffer.createGraphics();
+        paintOverlay(workingImage, width, height);
+        workingImage.dispose();
+
+        previewImage.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), working, 0, width);
+    }
+
+    private static int[] pixelsOf(BufferedImage image) {       //TYPE_INT_ARGB images keep their pixels in one int array
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    //Draws the selected burn-in for an image of this size, onto the preview or onto each band of a streamed export
+    private void paintOverlay(Graphics2D workingImage, int width, int height) {
+        if (checkboxName.isSelected())
+            burnName(workingImage, width, height);
+        if (checkboxRange.isSelected())
+            burnRange(workingImage, width, height);
+        if (checkboxCreator.isSelected())
+            burnCreator(workingImage, width, height);
+        if (checkboxLogo.isSelected())
+            burnLogo(workingImage, width, height);
+    }
+
+    private void burnName(Graphics2D workingImage, int width, int height) {
+        String text = activeTimeline.getName();
+        burnText(workingImage, width, height, text, 1.0 / 10, false);
+    }
+
+    private void burnCreator(Graphics2D workingImage, int width, int height) {
+        String text = "Made with LyfeLine by: " + GUIManager.loggedInUser.getUserName();
+        burnText(workingImage, width, height, text, 29.0 / 30, false);
+    }
+
+    private void burnRange(Graphics2D workingImage, int width, int height) {
+        String text = DateUtils.ddmmyyToString(activeTimeline);
+        burnText(workingImage, width, height, text, 29.0 / 30, true);
+    }
+
+    private void burnText(Graphics2D workingImage, int width, int height, String text, double yPlacementRatio, boolean adjustDown) {
+        //initializes necessary graphic properties
+        if (burnInFont == null || burnInFont.getSize() != height / 30) {      //same size every time unless the image changed
+            burnInFont = new Font(Font.SANS_SERIF, Font.BOLD, height / 30);
+            textBounds.clear();
+        }
+        workingImage.setColor(Color.BLACK);
+        workingImage.setFont(burnInFont);
+        Rectangle2D rect = textBounds.computeIfAbsent(text, t -> workingImage.getFontMetrics().getStringBounds(t, workingImage));
+
+        //calculate position of text
+        int xPlacement = (int) (width - rect.getWidth()) / 2;     //centered
+        int yPlacement = (int) (height * yPlacementRatio);
+        if (adjustDown)   //when placing two fields near each other, one should be adjusted downwards so they don't overlap
+            yPlacement -= rect.getHeight();
+
+        //add text overlay to the image
+        workingImage.drawString(text, xPlacement, yPlacement);
+    }
+
+    private void burnLogo(Graphics2D workingImage, int width, int height) {
+        BufferedImage logoBuffer = logo();
+        if (logoBuffer == null)
+            return;
+
+        //calculates the coordinate where the String is painted
+        int yPlacement = (height - height / 15);
+        int xPlacement = (width / 100);
+
+        //add text watermark to the image
+        Composite before = workingImage.getComposite();
+        workingImage.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f));
+        workingImage.drawImage(logoBuffer, xPlacement, yPlacement, null);
+        workingImage.setComposite(before);
+    }
+
+    private static BufferedImage logo() {
+        if (logo == null) {
+            try {
+                logo = resize(ImageIO.read(new File("src/main/resources/Logo.png")));
+            } catch (IOException e) {
+                System.err.println("Logo.png file not found.");
+            }
+        }
+        return logo;
+    }
+
+    //at the moment resizes the logo to hardcoded 100x100, seems to work well and the logo watermark should be reasonably small.
+    private static BufferedImage resize(BufferedImage img) {
+        final int width = 104;
+        final int height = 40;
+        Image tmp = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = resized.createGraphics();
+        g2d.drawImage(tmp, 0, 0, null);
+        g2d.dispose();
+        return resized;
+    }
+
+    @FXML
+    void close() {
+        ((Stage) imageView.getScene().getWindow()).close();
+    }
+}
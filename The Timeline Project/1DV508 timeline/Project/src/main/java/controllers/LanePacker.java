@@ -0,0 +1,71 @@
+package controllers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+//Gives each interval of columns the first row (from 1, row 0 is the axis) where it overlaps nothing placed before it,
+//the same rows as checking every placed interval but without the pairwise scan. Events arrive sorted by priority, then
+//start, so within a priority they sweep left to right: a min-heap of the rows' end columns says which rows have come
+//free by the time the next one starts. Whatever's left from earlier sweeps is checked in each row's ordered map
+class LanePacker {
+    private final List<TreeMap<Integer, Integer>> rows = new ArrayList<>();    //start -> end of everything placed on each row
+    private final TreeSet<Integer> freeRows = new TreeSet<>();                  //rows this sweep isn't using at the current start
+    private final PriorityQueue<int[]> busyRows = new PriorityQueue<>(Comparator.comparingInt(r -> r[0]));     //{end, row}
+    private int lastStart = Integer.MIN_VALUE;
+
+    LanePacker() {
+        rows.add(new TreeMap<>());                      //the axis, nothing goes on it
+    }
+
+    int place(int start, int end) {                     //end exclusive, returns the row it went on
+        if (start < lastStart) {                        //out of start order, e.g. the next priority, so start a new sweep
+            busyRows.clear();
+            freeRows.clear();
+            for (int r = 1; r < rows.size(); r++)
+                freeRows.add(r);
+        }
+        lastStart = start;
+        while (!busyRows.isEmpty() && busyRows.peek()[0] <= start)
+            freeRows.add(busyRows.poll()[1]);
+
+        int row = -1;
+        for (Iterator<Integer> it = freeRows.iterator(); it.hasNext(); ) {     //lowest row first, same as the scan would pick
+            int r = it.next();
+            Map.Entry<Integer, Integer> covering = rows.get(r).floorEntry(start);
+            if (covering != null && covering.getValue() > start) {              //whatever covers this start blocks the rest of the sweep
+                it.remove();                                                    //until it ends, so set the row aside till then
+                busyRows.add(new int[]{covering.getValue(), r});
+                continue;
+            }
+            if (isFree(r, start, end)) {
+                row = r;
+                break;
+            }
+        }
+        if (row < 0) {
+            row = rows.size();
+            rows.add(new TreeMap<>());
+        } else {
+            freeRows.remove(row);
+        }
+
+        rows.get(row).put(start, end);
+        busyRows.add(new int[]{end, row});
+        return row;
+    }
+
+    private boolean isFree(int row, int start, int end) {
+        Map.Entry<Integer, Integer> before = rows.get(row).lowerEntry(end);    //intervals on a row don't overlap, so only the last one
+        return before == null || before.getValue() <= start;                    //starting before this ends can reach into it
+    }
+
+    int getRowCount() {
+        return rows.size();
+    }
+}
@@ -0,0 +1,383 @@
+package controllers;
+
+import database.Event;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+//Draws a timeline onto one Canvas the size of the view instead of a node per column and event, for timelines too big
+//for the scene graph. Only the columns and rows inside the viewport get drawn, clicks are hit-tested against the bars
+class TimelineCanvas extends Pane {
+    static final double AXIS_HEIGHT = 50;               //same layout as the grid: axis row, then rows of bars with gaps
+    static final double BAR_HEIGHT = 20;
+    static final double ROW_GAP = 17;
+    private static final double MIN_LABEL_SPACING = 70;
+    private static final double MIN_TICK_SPACING = 4;
+    private static final double MIN_BAR_WIDTH = 4;      //narrower columns than this draw clusters of events instead of bars
+    private static final double MIN_CLUSTER_WIDTH = 28;
+
+    private final Canvas canvas = new Canvas();
+    private final TimelineViewport viewport = new TimelineViewport();
+    private final Region axisStyle = new Region();      //never seen, they pick up the theme's colours for drawing with
+    private final Label eventStyle = new Label();
+    private final Text labelStyle = new Text();
+    private final Tooltip hoverFlag = new Tooltip();
+    private List<List<EventPlacement>> rows = new ArrayList<>();    //each row's bars in start order, they never overlap within a row
+    private EventClusters clusters = new EventClusters(List.of());
+    private int columnCount = 0;
+    private int firstLabel = 0;
+    private int labelFrequency = 1;
+    private Consumer<Event> onEventClicked = e -> {};
+    private Object hovered;                             //the bar or cluster under the mouse
+    private double dragX;
+    private double dragY;
+    private boolean dragged;
+
+    TimelineCanvas() {
+        axisStyle.getStyleClass().add("timeline");
+        eventStyle.getStyleClass().add("eventNode");
+        for (Node style : List.of(axisStyle, eventStyle, labelStyle)) {
+            style.setManaged(false);
+            style.setOpacity(0);
+            style.setMouseTransparent(true);
+        }
+        getChildren().addAll(axisStyle, eventStyle, labelStyle, canvas);
+        setMinSize(0, 0);
+
+        hoverFlag.setShowDelay(hoverFlag.getShowDelay().divide(8));
+        hoverFlag.setMaxWidth(1000);
+        hoverFlag.setWrapText(true);
+
+        widthProperty().addListener(e -> resizeCanvas());
+        heightProperty().addListener(e -> resizeCanvas());
+        setOnMousePressed(this::mousePressed);
+        setOnMouseDragged(this::mouseDragged);
+        setOnMouseClicked(this::mouseClicked);
+        setOnMouseMoved(this::mouseMoved);
+        setOnScroll(this::scrolled);
+    }
+
+    //Takes placements from EventPlacement.placeAll on an axis of columnCount columns, labelled from firstLabel on every
+    //labelFrequency columns
+    void setTimeline(List<EventPlacement> placed, int columnCount, int firstLabel, int labelFrequency) {
+        this.columnCount = columnCount;
+        this.firstLabel = firstLabel;
+        this.labelFrequency = labelFrequency;
+
+        rows = new ArrayList<>();
+        rows.add(new ArrayList<>());                    //row 0 is the axis
+        for (EventPlacement p : placed) {
+            while (rows.size() <= p.getRow())
+                rows.add(new ArrayList<>());
+            rows.get(p.getRow()).add(p);
+        }
+        for (List<EventPlacement> row : rows)
+            row.sort((a, b) -> a.getStartColumn() - b.getStartColumn());
+        clusters = new EventClusters(placed);
+
+        updateContent();
+        draw();
+    }
+
+    private void updateContent() {
+        int shownRows = clustered(viewport) ? Math.min(rows.size(), 2) : rows.size();     //clusters all go on the first row
+        viewport.setContent(columnCount + 1, rowY(shownRows));     //room for the label after the last column
+    }
+
+    private boolean clustered(TimelineViewport view) {
+        return view.columnWidth() < MIN_BAR_WIDTH;
+    }
+
+    void setOnEventClicked(Consumer<Event> onEventClicked) {
+        this.onEventClicked = onEventClicked;
+    }
+
+    double getScale() {
+        return viewport.getScale();
+    }
+
+    void setScale(double scale) {                       //zooms around the middle of the view
+        zoomAt(viewport.getWidth() / 2, scale);
+    }
+
+    void zoomAt(double x, double scale) {
+        viewport.zoomAt(x, scale);
+        updateContent();
+        draw();
+    }
+
+    private void resizeCanvas() {
+        canvas.setWidth(getWidth());
+        canvas.setHeight(getHeight());
+        viewport.setSize(getWidth(), getHeight());
+        draw();
+    }
+
+    private static double rowY(int row) {               //top of a row's bars, in content coordinates
+        return AXIS_HEIGHT - BAR_HEIGHT + row * (BAR_HEIGHT + ROW_GAP);
+    }
+
+    void draw() {
+        draw(canvas.getGraphicsContext2D(), viewport);
+    }
+
+    private void draw(GraphicsContext gc, TimelineViewport view) {
+        gc.clearRect(0, 0, view.getWidth(), view.getHeight());
+        if (columnCount < 1)
+            return;
+
+        drawAxis(gc, view);
+        if (clustered(view))
+            drawClusters(gc, view);
+        else
+            drawBars(gc, view);
+    }
+
+    //Draws part of the timeline onto a canvas of its own, at the given zoom and from the given content pixel in the
+    //top left, for exporting a tile at a time without moving the view on screen
+    void drawTile(Canvas tile, double x, double y, double scale) {
+        TimelineViewport view = new TimelineViewport();
+        view.setSize(tile.getWidth(), tile.getHeight());
+        view.zoomAt(0, scale);
+        view.setOrigin(x / view.columnWidth(), y);
+        draw(tile.getGraphicsContext2D(), view);
+    }
+
+    double getContentWidth() {                          //at 100% zoom, with room for the last label
+        return (columnCount + 1) * TimelineViewport.COLUMN_WIDTH;
+    }
+
+    double getContentHeight() {
+        return rowY(rows.size());
+    }
+
+    private void drawAxis(GraphicsContext gc, TimelineViewport view) {
+        double axisY = view.yOf(AXIS_HEIGHT / 2);
+        double left = Math.max(0, view.xOf(0));
+        double right = Math.min(view.getWidth(), view.xOf(columnCount));
+        gc.setFill(fillOf(axisStyle, Color.GREY));
+        gc.fillRect(left, axisY, right - left, AXIS_HEIGHT / 2);
+
+        int first = Math.max(0, (int) Math.floor(view.firstVisibleColumn()));
+        int last = Math.min(columnCount, (int) Math.ceil(view.lastVisibleColumn()));
+
+        int step = TimelineViewport.labelStep(labelFrequency, view.columnWidth(), MIN_LABEL_SPACING);
+        int tickStep = step == labelFrequency ? 1 : step / 10;         //ticks a level finer than the labels, if they fit
+        if (tickStep * view.columnWidth() >= MIN_TICK_SPACING) {
+            gc.setStroke(labelStyle.getFill());
+            gc.setLineWidth(1);
+            for (int i = firstOnStep(first, tickStep); i <= last; i += tickStep) {
+                double x = Math.round(view.xOf(i)) + .5;
+                gc.strokeLine(x, axisY, x, axisY + AXIS_HEIGHT / 8);
+            }
+        }
+
+        gc.setFill(labelStyle.getFill());
+        gc.setFont(labelStyle.getFont());
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.BOTTOM);
+        for (int i = firstOnStep(first, step); i <= last; i += step)
+            gc.fillText(String.valueOf(i + firstLabel), view.xOf(i), axisY);
+    }
+
+    private int firstOnStep(int column, int step) {     //first column from here on whose label is a multiple of the step
+        if (step <= labelFrequency)                     //the finest labels count from the start, like the grid's
+            return column + Math.floorMod(-column, step);
+        return column + Math.floorMod(-(column + firstLabel), step);
+    }
+
+    //One glyph per stretch of columns with events starting in it, sized by how many. The stretches come from the level of
+    //the summary that's wide enough on screen, so this only loops over the glyphs in view however many events there are
+    private void drawClusters(GraphicsContext gc, TimelineViewport view) {
+        int level = clusters.levelFor(view.columnWidth(), MIN_CLUSTER_WIDTH);
+        double lastVisible = view.lastVisibleColumn();
+        double y = view.yOf(rowY(1)) + BAR_HEIGHT / 2;
+
+        gc.setFont(eventStyle.getFont());
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        Paint glyphFill = fillOf(eventStyle, Color.GREY);
+        Paint textFill = eventStyle.getTextFill();
+
+        for (int i = clusters.firstAtOrAfter(level, view.firstVisibleColumn()); i < clusters.size(level) && clusters.startColumn(level, i) < lastVisible; i++) {
+            int count = clusters.count(level, i);
+            double x = clusterX(view, level, i);
+            double radius = glyphRadius(count);
+            gc.setFill(glyphFill);
+            gc.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+            if (count > 1) {
+                gc.setFill(textFill);
+                gc.fillText(String.valueOf(count), x, y);
+            }
+        }
+    }
+
+    private double clusterX(TimelineViewport view, int level, int i) {         //centre of the stretch
+        return view.xOf(clusters.startColumn(level, i) + clusters.columnWidth(level) / 2.0);
+    }
+
+    private static double glyphRadius(int count) {      //grows with the digits, one event is just a dot
+        return count == 1 ? BAR_HEIGHT / 4 : Math.min(BAR_HEIGHT / 2 + 3 * Math.log10(count), MIN_CLUSTER_WIDTH / 2);
+    }
+
+    private int clusterAt(double x, double y) {         //index of the glyph at this point of the view on the level in use, or -1
+        int level = clusters.levelFor(viewport.columnWidth(), MIN_CLUSTER_WIDTH);
+        double centreY = viewport.yOf(rowY(1)) + BAR_HEIGHT / 2;
+        int i = clusters.firstAtOrAfter(level, viewport.columnAt(x - MIN_CLUSTER_WIDTH / 2));
+        for (; i < clusters.size(level) && clusterX(viewport, level, i) - MIN_CLUSTER_WIDTH / 2 <= x; i++) {
+            double radius = glyphRadius(clusters.count(level, i));
+            if (Math.hypot(clusterX(viewport, level, i) - x, centreY - y) <= radius)
+                return i;
+        }
+        return -1;
+    }
+
+    private void drawBars(GraphicsContext gc, TimelineViewport view) {
+        double firstVisible = view.firstVisibleColumn();
+        double lastVisible = view.lastVisibleColumn();
+        int firstRow = Math.max(1, rowAt(view, 0));
+        int lastRow = Math.min(rows.size() - 1, rowAt(view, view.getHeight()));
+
+        gc.setFont(eventStyle.getFont());
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        Paint barFill = fillOf(eventStyle, Color.GREY);
+        Paint textFill = eventStyle.getTextFill();
+
+        for (int r = firstRow; r <= lastRow; r++) {
+            List<EventPlacement> row = rows.get(r);
+            double y = view.yOf(rowY(r));
+            for (int i = firstEndingAfter(row, firstVisible); i < row.size() && row.get(i).getStartColumn() < lastVisible; i++) {
+                EventPlacement bar = row.get(i);
+                double x = view.xOf(bar.getStartColumn());
+                double width = Math.max(1, bar.getColumnSpan() * view.columnWidth());
+                gc.setFill(barFill);
+                gc.fillRect(x, y, width, BAR_HEIGHT);
+
+                if (width > 20) {                       //names only where there's room for some of them
+                    double visibleLeft = Math.max(x, 0);
+                    double visibleWidth = Math.min(x + width, view.getWidth()) - visibleLeft;
+                    gc.save();
+                    gc.beginPath();
+                    gc.rect(visibleLeft, y, visibleWidth, BAR_HEIGHT);
+                    gc.clip();
+                    gc.setFill(textFill);
+                    gc.fillText(bar.getEvent().getName(), visibleLeft + visibleWidth / 2, y + BAR_HEIGHT / 2);
+                    gc.restore();
+                }
+            }
+        }
+    }
+
+    private int rowAt(TimelineViewport view, double y) {
+        return (int) Math.floor((view.contentYAt(y) - rowY(0)) / (BAR_HEIGHT + ROW_GAP));
+    }
+
+    private static int firstEndingAfter(List<EventPlacement> row, double column) {     //binary search, bars in a row end in start order too
+        int low = 0;
+        int high = row.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (row.get(mid).getEndColumn() <= column)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    EventPlacement eventAt(double x, double y) {        //the bar drawn at this point of the view, if any
+        if (clustered(viewport)) {                      //a glyph of one event stands for it, bigger clusters for none
+            int i = clusterAt(x, y);
+            int level = clusters.levelFor(viewport.columnWidth(), MIN_CLUSTER_WIDTH);
+            return i >= 0 && clusters.count(level, i) == 1 ? clusters.first(level, i) : null;
+        }
+        int r = rowAt(viewport, y);
+        if (r < 1 || r >= rows.size() || viewport.contentYAt(y) > rowY(r) + BAR_HEIGHT)
+            return null;
+        double column = viewport.columnAt(x);
+        List<EventPlacement> row = rows.get(r);
+        int i = firstEndingAfter(row, column);
+        if (i < row.size() && row.get(i).getStartColumn() <= column)
+            return row.get(i);
+        return null;
+    }
+
+    private static Paint fillOf(Region styled, Paint fallback) {
+        if (styled.getBackground() == null || styled.getBackground().getFills().isEmpty())
+            return fallback;
+        return styled.getBackground().getFills().get(0).getFill();
+    }
+
+    private void mousePressed(MouseEvent e) {
+        dragX = e.getX();
+        dragY = e.getY();
+        dragged = false;
+    }
+
+    private void mouseDragged(MouseEvent e) {           //drag to pan, like the grid's pannable scroll pane
+        viewport.panBy(e.getX() - dragX, e.getY() - dragY);
+        dragX = e.getX();
+        dragY = e.getY();
+        dragged = true;
+        draw();
+    }
+
+    private void mouseClicked(MouseEvent e) {
+        if (dragged || e.getButton() != MouseButton.PRIMARY)
+            return;
+        EventPlacement clicked = eventAt(e.getX(), e.getY());
+        if (clicked != null)
+            onEventClicked.accept(clicked.getEvent());
+    }
+
+    private void mouseMoved(MouseEvent e) {
+        Object over = eventAt(e.getX(), e.getY());
+        String text = null;
+        if (over != null) {
+            Event event = ((EventPlacement) over).getEvent();
+            text = event.getName() + "\n" + event.getDescription();
+        } else if (clustered(viewport)) {
+            int level = clusters.levelFor(viewport.columnWidth(), MIN_CLUSTER_WIDTH);
+            int i = clusterAt(e.getX(), e.getY());
+            if (i >= 0) {
+                over = List.of(level, i);                   //stands for the cluster, it has no object of its own
+                text = clusters.count(level, i) + " events";
+            }
+        }
+        if (Objects.equals(over, hovered))
+            return;
+        hovered = over;
+        if (over == null) {
+            Tooltip.uninstall(this, hoverFlag);
+        } else {
+            hoverFlag.setText(text);
+            Tooltip.install(this, hoverFlag);
+        }
+    }
+
+    private void scrolled(ScrollEvent e) {              //zooming with control is handled by TimelineView, plain scrolling pans
+        if (e.isControlDown())
+            return;
+        viewport.panBy(e.getDeltaX(), e.getDeltaY());
+        draw();
+        e.consume();
+    }
+}
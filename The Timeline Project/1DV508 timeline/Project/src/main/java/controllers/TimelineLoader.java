@@ -0,0 +1,50 @@
+package controllers;
+
+import database.DBM;
+import database.Timeline;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+//Loads timelines a page at a time off the FX thread, handing each page to the UI as soon as it arrives
+class TimelineLoader extends Task<Integer> {
+    private static final int PAGE_SIZE = 50;
+    private final Consumer<List<Timeline>> onPage;      //runs on the FX thread
+
+    TimelineLoader(Consumer<List<Timeline>> onPage) {
+        this.onPage = onPage;
+    }
+
+    @Override
+    protected Integer call() throws SQLException {
+        try {
+            int total = Timeline.countTimelinesInDB();
+            int loaded = 0;
+            int lastID = 0;
+            updateProgress(0, total);
+
+            while (!isCancelled()) {
+                List<Timeline> page = Timeline.getTimelinesFromDB(lastID, PAGE_SIZE);
+                if (page.isEmpty())
+                    break;
+                lastID = page.get(page.size() - 1).getID();
+                loaded += page.size();
+
+                Platform.runLater(() -> {
+                    if (!isCancelled())                 //a cancelled loader's pages would mix with the ones of the loader replacing it
+                        onPage.accept(page);
+                });
+                updateProgress(loaded, Math.max(total, loaded));    //timelines added while loading can push past the first count
+
+                if (page.size() < PAGE_SIZE)
+                    break;
+            }
+            return loaded;
+        } finally {
+            DBM.release();                              //this thread is done with the database
+        }
+    }
+}
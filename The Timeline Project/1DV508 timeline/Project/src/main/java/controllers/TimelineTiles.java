@@ -0,0 +1,11 @@
+package controllers;
+
+//The whole timeline as a picture at 100% zoom that gets drawn a tile at a time, so exporting it never needs all of it in
+//memory at once however long the timeline is
+interface TimelineTiles {
+    int getWidth();
+
+    int getHeight();
+
+    void renderTile(int x, int y, int width, int height, int[] argb);      //that part's pixels into argb, width ints per row
+}
@@ -0,0 +1,106 @@
+package controllers;
+
+//Pan and zoom state of the canvas renderer: which columns and how far down the rows are in view, and how wide a column
+//is on screen. Positions are kept in columns rather than pixels so zooming doesn't drift on very long timelines
+class TimelineViewport {
+    static final double COLUMN_WIDTH = 70;              //at 100% zoom, same as the grid renderer's columns
+    private double scale = 1;
+    private double firstColumn = 0;                     //column at the left edge, fractional
+    private double scrollY = 0;                         //pixels scrolled down
+    private double width = 0;
+    private double height = 0;
+    private int columnCount = 0;
+    private double contentHeight = 0;
+
+    void setSize(double width, double height) {
+        this.width = width;
+        this.height = height;
+        clamp();
+    }
+
+    void setContent(int columnCount, double contentHeight) {
+        this.columnCount = columnCount;
+        this.contentHeight = contentHeight;
+        clamp();
+    }
+
+    double getScale() {
+        return scale;
+    }
+
+    void zoomAt(double x, double newScale) {            //keeps the column under x in place, e.g. under the mouse
+        double column = columnAt(x);
+        scale = newScale;
+        firstColumn = column - x / columnWidth();
+        clamp();
+    }
+
+    void panBy(double dx, double dy) {                  //moves the content by the given pixels, as if dragged
+        firstColumn -= dx / columnWidth();
+        scrollY -= dy;
+        clamp();
+    }
+
+    void setOrigin(double column, double scrollY) {    //puts the column and pixel at the top left, unclamped for drawing off screen
+        firstColumn = column;
+        this.scrollY = scrollY;
+    }
+
+    private void clamp() {
+        double visibleColumns = width / columnWidth();
+        if (visibleColumns >= columnCount)                              //whole timeline fits, center it like the grid is
+            firstColumn = (columnCount - visibleColumns) / 2;
+        else
+            firstColumn = Math.max(0, Math.min(firstColumn, columnCount - visibleColumns));
+        scrollY = Math.max(0, Math.min(scrollY, contentHeight - height));
+    }
+
+    double columnWidth() {
+        return COLUMN_WIDTH * scale;
+    }
+
+    //Columns between axis labels: the timeline's own label frequency while they fit, then the next power of ten up each
+    //time they'd run into each other, so years go to decades, centuries and millennia
+    static int labelStep(int labelFrequency, double columnWidth, double minSpacing) {
+        long step = labelFrequency;
+        long power = 10;
+        while (step * columnWidth < minSpacing && step < Integer.MAX_VALUE / 10) {
+            while (power <= step)
+                power *= 10;
+            step = power;
+        }
+        return (int) step;
+    }
+
+    double xOf(double column) {
+        return (column - firstColumn) * columnWidth();
+    }
+
+    double columnAt(double x) {
+        return firstColumn + x / columnWidth();
+    }
+
+    double yOf(double contentY) {
+        return contentY - scrollY;
+    }
+
+    double contentYAt(double y) {
+        return y + scrollY;
+    }
+
+    double firstVisibleColumn() {
+        return firstColumn;
+    }
+
+    double lastVisibleColumn() {
+        return columnAt(width);
+    }
+
+    double getWidth() {
+        return width;
+    }
+
+    double getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,368 @@
+package database;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Bounded pool of connections behind DBM, each thread leases its own so background loaders don't share one with the UI
+public class ConnectionPool implements ConnectionPoolMXBean {
+    private static final int VALIDATION_TIMEOUT = 2;                    //seconds a connection gets to answer isValid() when borrowed
+    private static final long HOUSEKEEPING_INTERVAL = 15000;            //ms between idle eviction and leak detection sweeps
+    private static final long DEFAULT_MAX_WAIT = 10000;                 //ms a thread waits for a free connection before giving up
+    private static final long DEFAULT_MAX_IDLE = 300000;                //ms an unused connection stays open
+    private static final long DEFAULT_LEAK_THRESHOLD = 60000;           //ms a background thread can hold a connection before it gets reported
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;         //prepared statements kept per connection
+    private static final String MBEAN_NAME = "database:type=ConnectionPool";
+
+    private final String url;
+    private final String user;
+    private final String pass;
+    private final int maxSize;
+    private final long maxWait;
+    private final long maxIdle;
+    private final long leakThreshold;
+    private volatile String schema = null;                              //catalog every borrowed connection is switched to
+    private volatile int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+    private volatile boolean closed = false;
+
+    private final Semaphore permits;                                    //one per connection, idle or leased
+    private final Deque<Idle> idle = new ArrayDeque<>();                //most recently returned first
+    private final Map<Connection, Lease> leased = new IdentityHashMap<>();
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();     //lives as long as its connection, across leases
+    private final ScheduledExecutorService housekeeper;
+
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong totalWait = new AtomicLong();              //in ns
+    private final AtomicLong longestWait = new AtomicLong();            //in ns
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String pass, int maxSize) {
+        this(url, user, pass, maxSize, DEFAULT_MAX_WAIT, DEFAULT_MAX_IDLE, DEFAULT_LEAK_THRESHOLD);
+    }
+
+    public ConnectionPool(String url, String user, String pass, int maxSize, long maxWait, long maxIdle, long leakThreshold) {
+        this.url = url;
+        this.user = user;
+        this.pass = pass;
+        this.maxSize = maxSize;
+        this.maxWait = maxWait;
+        this.maxIdle = maxIdle;
+        this.leakThreshold = leakThreshold;
+        permits = new Semaphore(maxSize, true);                         //fair, so a waiting thread can't be starved by newer ones
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ConnectionPool housekeeper");
+            t.setDaemon(true);                                          //don't keep the app alive just for this
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeeping, HOUSEKEEPING_INTERVAL, HOUSEKEEPING_INTERVAL, TimeUnit.MILLISECONDS);
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(MBEAN_NAME);
+            if (server.isRegistered(name))                              //replaces the metrics of an older pool
+                server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            System.err.println("Could not publish connection pool metrics.");
+        }
+    }
+
+    //A connection leased to one thread, pinned leases belong to long-lived threads (e.g. the UI) and are never reported as leaks
+    static class Lease {
+        final ConnectionPool pool;
+        final Connection connection;
+        final StatementCache statements;
+        final Thread owner;
+        final boolean pinned;
+        final long since = System.currentTimeMillis();
+        final Throwable origin = new Throwable("Connection borrowed here");
+        boolean reported = false;
+
+        private Lease(ConnectionPool pool, Connection connection, StatementCache statements, Thread owner, boolean pinned) {
+            this.pool = pool;
+            this.connection = connection;
+            this.statements = statements;
+            this.owner = owner;
+            this.pinned = pinned;
+        }
+    }
+
+    private static class Idle {
+        final Connection connection;
+        final long since = System.currentTimeMillis();
+
+        private Idle(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    Lease borrow(boolean pinned) throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool is closed.");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + maxWait + "ms waiting for one of " + maxSize + " database connections.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+        long waited = System.nanoTime() - start;
+        borrows.incrementAndGet();
+        totalWait.addAndGet(waited);
+        longestWait.accumulateAndGet(waited, Math::max);
+
+        Connection c = null;
+        try {
+            c = takeValidIdle();
+            if (c == null) {
+                c = DriverManager.getConnection(url, user, pass);
+                created.incrementAndGet();
+            }
+            if (schema != null && !schema.equals(c.getCatalog()))
+                c.setCatalog(schema);
+
+            synchronized (this) {
+                if (closed)
+                    throw new SQLException("Connection pool is closed.");
+                StatementCache statements = statementCaches.get(c);
+                if (statements == null) {
+                    statements = new StatementCache(c, statementCacheSize, statementHits, statementMisses);
+                    statementCaches.put(c, statements);
+                }
+                Lease lease = new Lease(this, c, statements, Thread.currentThread(), pinned);
+                leased.put(c, lease);
+                return lease;
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (c != null)
+                closeQuietly(c);
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeValidIdle() {            //newest first, the ones idling longest are left for eviction
+        while (true) {
+            Idle next;
+            synchronized (this) {
+                next = idle.pollFirst();
+            }
+            if (next == null)
+                return null;
+            try {
+                if (next.connection.isValid(VALIDATION_TIMEOUT))
+                    return next.connection;
+            } catch (SQLException ignore) {
+            }
+            discard(next.connection);
+        }
+    }
+
+    void release(Lease lease) {
+        synchronized (this) {
+            if (leased.remove(lease.connection) == null)            //already returned, reclaimed or closed with the pool
+                return;
+        }
+
+        Connection c = lease.connection;
+        try {
+            if (!c.getAutoCommit()) {                               //don't hand the next thread a half-finished transaction
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            c.clearWarnings();
+            synchronized (this) {
+                if (!closed) {
+                    idle.addFirst(new Idle(c));
+                    c = null;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding broken database connection.");
+        } finally {
+            if (c != null)
+                discard(c);
+            permits.release();
+        }
+    }
+
+    void setSchema(String schema) {
+        this.schema = schema;
+    }
+
+    private void housekeeping() {
+        long now = System.currentTimeMillis();
+        List<Connection> expired = new ArrayList<>();
+        List<Lease> abandoned = new ArrayList<>();
+        List<Lease> suspects = new ArrayList<>();
+
+        synchronized (this) {
+            idle.removeIf(i -> {
+                if (now - i.since < maxIdle)
+                    return false;
+                expired.add(i.connection);
+                return true;
+            });
+            for (Lease lease : leased.values()) {
+                if (!lease.owner.isAlive())
+                    abandoned.add(lease);
+                else if (!lease.pinned && !lease.reported && now - lease.since > leakThreshold) {
+                    lease.reported = true;                          //report each lease once, it might still be a long batch job
+                    suspects.add(lease);
+                }
+            }
+        }
+
+        expired.forEach(this::discard);
+        for (Lease lease : suspects) {
+            leaks.incrementAndGet();
+            System.err.println("Database connection held by thread \"" + lease.owner.getName() + "\" for "
+                    + (now - lease.since) / 1000 + "s, it may have been leaked. Call DBM.release() when a thread is done with the database.");
+            lease.origin.printStackTrace();
+        }
+        for (Lease lease : abandoned) {
+            System.err.println("Reclaiming database connection from finished thread \"" + lease.owner.getName() + "\".");
+            release(lease);
+        }
+    }
+
+    public void close() {                                           //closes every connection, including leased ones
+        List<Connection> toClose = new ArrayList<>();
+        synchronized (this) {
+            if (closed)
+                return;
+            closed = true;
+            idle.forEach(i -> toClose.add(i.connection));
+            idle.clear();
+            toClose.addAll(leased.keySet());
+            leased.clear();
+            statementCaches.values().forEach(StatementCache::close);
+            statementCaches.clear();
+        }
+        housekeeper.shutdownNow();
+        toClose.forEach(ConnectionPool::closeQuietly);
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+        } catch (JMException ignore) {                              //already replaced by a newer pool
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void discard(Connection c) {
+        synchronized (this) {
+            StatementCache statements = statementCaches.remove(c);
+            if (statements != null)                                 //closed before the connection, one in use still closes when handed back
+                statements.close();
+        }
+        discarded.incrementAndGet();
+        closeQuietly(c);
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException ignore) {
+        }
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return maxSize;
+    }
+
+    @Override
+    public synchronized int getActiveConnections() {
+        return leased.size();
+    }
+
+    @Override
+    public synchronized int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public int getThreadsWaiting() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return borrows.get();
+    }
+
+    @Override
+    public double getAverageWaitMillis() {
+        long count = borrows.get();
+        return count == 0 ? 0 : totalWait.get() / 1e6 / count;
+    }
+
+    @Override
+    public double getMaxWaitMillis() {
+        return longestWait.get() / 1e6;
+    }
+
+    @Override
+    public long getWaitTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public long getLeaksDetected() {
+        return leaks.get();
+    }
+
+    @Override
+    public long getConnectionsCreated() {
+        return created.get();
+    }
+
+    @Override
+    public long getConnectionsDiscarded() {
+        return discarded.get();
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    @Override
+    public synchronized void setStatementCacheSize(int size) {     //0 turns caching off, statements then get prepared on every call again
+        statementCacheSize = size;
+        statementCaches.values().forEach(cache -> cache.setCapacity(size));
+    }
+}
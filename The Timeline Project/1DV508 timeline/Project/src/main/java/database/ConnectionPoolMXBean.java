@@ -0,0 +1,34 @@
+package database;
+
+//Pool metrics published over JMX, e.g. viewable in JConsole under database:type=ConnectionPool
+public interface ConnectionPoolMXBean {
+    int getMaxConnections();
+
+    int getActiveConnections();         //leased to a thread right now
+
+    int getIdleConnections();           //open and waiting in the pool
+
+    int getThreadsWaiting();            //blocked waiting for a connection to free up
+
+    long getBorrowCount();
+
+    double getAverageWaitMillis();
+
+    double getMaxWaitMillis();
+
+    long getWaitTimeouts();
+
+    long getLeaksDetected();
+
+    long getConnectionsCreated();
+
+    long getConnectionsDiscarded();     //closed after failing validation, idling too long or breaking on return
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    int getStatementCacheSize();        //per connection
+
+    void setStatementCacheSize(int size);
+}
@@ -1,9 +1,9 @@
-package database;
-
-import java.sql.ResultSet;
-import java.sql.SQLException;
-
-@FunctionalInterface
-public interface CreatableFromDB<T> {
-    T createFromDB(ResultSet rs) throws SQLException;
-}
+package database;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface CreatableFromDB<T> {
+    T createFromDB(ResultSet rs) throws SQLException;
+}
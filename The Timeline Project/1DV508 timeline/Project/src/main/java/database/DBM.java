@@ -1,305 +1,487 @@
-package database;
-
-import com.google.gson.Gson;
-import javafx.scene.control.Alert;
-import javafx.scene.control.ButtonType;
-import org.apache.commons.io.FileUtils;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.nio.charset.Charset;
-import java.sql.*;
-import java.util.*;
-
-//Database manager class for easier connecting and interacting
-public class DBM {
-    private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
-    private static final String creationScript = "src/main/resources/Database_Creation_Script.sql";
-    public static Connection conn = null;
-    private static String DB_URL = "jdbc:mysql://localhost?useTimezone=true&serverTimezone=UTC";
-    private static String USER = "root";
-    private static String PASS = "yourpasshere";
-    private static String SCHEMA = "project";
-
-    public DBM() {                                                         //Connect to server with default settings
-        this(SCHEMA);
-    }
-
-    public DBM(String SCHEMA) {                                            //Connect to server with alternate schema name
-        this(DB_URL, USER, PASS, SCHEMA);
-    }
-
-    public DBM(String USER, String PASS) {                                 //Connect to server with alternate login
-        this(DB_URL, USER, PASS);
-    }
-
-    public DBM(String DB_URL, String USER, String PASS) {                  //Connect to alternate server
-        this(DB_URL, USER, PASS, SCHEMA);
-    }
-
-    public DBM(String DB_URL, String USER, String PASS, String SCHEMA) {   //Connect to server with alternate settings
-        close();                        //if connection is already open, close it before making a new one
-
-        DBM.DB_URL = DB_URL;
-        DBM.USER = USER;
-        DBM.PASS = PASS;
-        DBM.SCHEMA = SCHEMA;
-        try {
-            //Register JDBC driver
-            Class.forName(JDBC_DRIVER);
-
-            //Open a connection
-            System.out.println("Connecting to selected database...");
-            conn = DriverManager.getConnection(DB_URL, USER, PASS);
-
-            //Connect to schema
-            useSchema(SCHEMA);
-        } catch (ClassNotFoundException e) {
-            System.err.println("Could not access JDBC drivers");
-        } catch (SQLException e) {
-            System.err.println("Could not connect to database.");
-        }
-        System.out.println("Connected to database successfully.");
-    }
-
-    public static void setupSchema() {   //creates schema from default script
-        try {
-            System.out.println("Creating schema...");
-            dropSchema();
-            useSchema(SCHEMA);
-
-            //Read and run the database creation script
-            System.out.println("Creating table(s) in given database...");
-            runScript(creationScript);
-            System.out.println("Schema created successfully.");
-        } catch (SQLException | FileNotFoundException e) {
-            e.printStackTrace();
-            System.err.println("Could not run Database_Creation_Script");
-        }
-    }
-
-    public static void useSchema(String SCHEMA) throws SQLException {
-        System.out.println("Attempting to connect to schema...");
-        try (Statement stmt = conn.createStatement()) {
-            if (!stmt.executeQuery("SHOW DATABASES LIKE '" + SCHEMA + "';").next()) //swaps to a different schema, creating it if it doesn't exist
-                stmt.execute("CREATE SCHEMA `" + SCHEMA + "`");                     //note: you may want to rerun setupSchema() if on a brand new schema
-            stmt.execute("USE " + SCHEMA);
-            DBM.SCHEMA = SCHEMA;
-        }
-    }
-
-    public static void createTestData() throws FileNotFoundException, SQLException {    //for testing
-        runScript("src/main/resources/Test_Data_Setup.sql");
-    }
-
-    private static void runScript(String script) throws FileNotFoundException, SQLException {      //private read-in method for DB creation script
-        File sql = new File(script);
-        Statement stmt = conn.createStatement();
-        Scanner sqlScan = new Scanner(sql);
-        sqlScan.useDelimiter(";[\\r\\n]{3,}");
-        String query;
-
-        while (sqlScan.hasNext()) {
-            query = sqlScan.next();
-            if (stmt != null && !query.isEmpty())
-                stmt.execute(query);                //technically SQL-injectable but by the time someone can edit the script they can do anything
-        }
-
-        sqlScan.close();
-        if (stmt != null)
-            stmt.close();
-    }
-
-    //Runs PreparedStatement and uses Functional Interface method to parse each row returned into an object
-    //How To Define The "creatable" Input:
-    //functional interfaces can use the implementation defined by an object,    e.g. new User() returns a List<User>
-    //or they can accept a lambda/method directly, which must take in a ResultSet and output an Object,     e.g. rs -> rs.getString("Name") will return a List<String> from the ResultSet's Name field
-    public static <T> List<T> getFromDB(PreparedStatement query, CreatableFromDB<T> creatable) throws SQLException {
-        List<T> out = new ArrayList<>();
-
-        //Runs input query to get ResultSet, then adds created objects to list
-        try (ResultSet rs = query.executeQuery()) {
-            while (rs.next()) {
-                out.add(creatable.createFromDB(rs));
-            }
-            return out;
-        }
-    }
-
-    public static <T> void insertIntoDB(List<T> insert) throws SQLException {           //convenience method so inserting works with Lists
-        insertIntoDB(asArray(insert));
-    }
-
-    @SafeVarargs
-    public static <T> void insertIntoDB(DBObject<T>... insert) throws SQLException {    //DON'T INSERT OBJECTS OF DIFFERENT TYPES
-        PreparedStatement stmt = null;
-        ResultSet rs = null;
-        try {
-            conn.setAutoCommit(false);                              //turn off autocommit so statements don't run as soon as they're added to the batch
-            for (DBObject<T> t : insert) {                          //iterate through all inserted T
-                if (t == null)
-                    continue;
-                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
-                    stmt = t.getInsertQuery();
-
-                if (t.getID() > 0)                                  //if something has an ID it already exists in DB
-                    throw new SQLException("Cannot update " + t.getClass().getSimpleName() + " not in database.");
-
-                t.addToBatch(stmt);                             //get the values of each T and add them to the batch
-            }
-            if (stmt == null)
-                return;
-            stmt.executeBatch();                                    //run the batch
-            conn.commit();
-
-            rs = stmt.getGeneratedKeys();
-            for (DBObject<T> t : insert) {                          //after insertion, get the autogenerated ID and pass it to objects that were inserted
-                if (t == null)
-                    continue;
-                rs.next();
-                t.setID(rs.getInt(1));
-            }
-        } finally {
-            if (stmt != null)
-                stmt.close();
-            if (rs != null)
-                rs.close();
-            conn.setAutoCommit(true);                               //turn autocommit back on so people can use the DB normally
-        }
-    }
-
-    public static <T> void updateInDB(List<T> update) throws SQLException {             //convenience method so updating works with Lists
-        updateInDB(asArray(update));
-    }
-
-    @SafeVarargs
-    public static <T> void updateInDB(DBObject<T>... update) throws SQLException {      //DON'T INSERT OBJECTS OF DIFFERENT TYPES
-        PreparedStatement stmt = null;
-        try {
-            conn.setAutoCommit(false);                              //turn off autocommit so statements don't run as soon as they're added to the batch
-            for (DBObject<T> t : update) {                          //iterate through all inserted T
-                if (t == null)
-                    continue;
-                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
-                    stmt = t.getUpdateQuery();
-
-                if (t.getID() == 0)                                 //if something has no ID it doesn't exist in DB
-                    throw new SQLException(t.getClass().getSimpleName() + " is already in database");
-
-                t.addToBatch(stmt);                             //get the values of each T and add them to the batch
-            }
-            if (stmt != null)
-                stmt.executeBatch();                                //run the batch
-        } finally {
-            if (stmt != null)
-                stmt.close();
-            conn.setAutoCommit(true);                               //turn autocommit back on so people can use the DB normally
-        }
-    }
-
-    public static <T> void deleteFromDB(List<T> delete) throws SQLException {           //convenience method so deleting works with Lists
-        deleteFromDB(asArray(delete));
-    }
-
-    @SafeVarargs
-    public static <T> void deleteFromDB(DBObject<T>... delete) throws SQLException {           //DON'T INSERT OBJECTS OF DIFFERENT TYPES
-        PreparedStatement stmt = null;
-        try {
-            conn.setAutoCommit(false);                              //turn off autocommit so statements don't run as soon as they're added to the batch
-            for (DBObject<T> t : delete) {                          //iterate through all inserted T
-                if (t == null)
-                    continue;
-                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
-                    stmt = t.getDeleteQuery();
-
-                stmt.setInt(1, t.getID());              //get the ID of each T and
-                stmt.addBatch();                                    //add it to the batch
-                t.deleteImage();                                    //delete images along with database info
-            }
-
-            if (stmt != null)
-                stmt.executeBatch();                                //run the batch
-        } finally {
-            if (stmt != null)
-                stmt.close();
-            conn.setAutoCommit(true);                               //turn autocommit back on so people can use the DB normally
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    public static <T> DBObject<T>[] asArray(List<T> list) {         //converts List to Array manually since java doesn't like generic arrays
-        try {                                                       //don't mix types, and if in doubt just convert to a typed array yourself
-            DBObject<T>[] asArray = (DBObject<T>[]) java.lang.reflect.Array.newInstance(list.get(0).getClass(), list.size());
-            for (int i = 0; i < list.size(); i++) {                 //don't try to run empty Lists either, if this method gets abused I'm removing it
-                asArray[i] = (DBObject<T>) list.get(i);
-            }
-            return asArray;
-        } catch (ClassCastException e) {
-            throw new ClassCastException("Class does not implement DBObject<T>");       //clearer exception message
-        }
-    }
-
-    public static void dropSchema() {                                      //drop current schema
-        try (PreparedStatement stmt = conn.prepareStatement("DROP DATABASE IF EXISTS " + SCHEMA)) {
-            stmt.execute();
-        } catch (SQLException e) {
-            System.err.println("Could not drop database " + SCHEMA);
-        }
-    }
-
-    public static void firstTimeSetup() {    //check if tables exist in DB, if not then create them and import dummy data
-        try {
-            DatabaseMetaData schemaCheck = conn.getMetaData();
-
-            try (ResultSet tableList = schemaCheck.getTables(SCHEMA, null, "timelines", null)) {
-                if (tableList.next() && (tableList.getString("TABLE_NAME").equals("timelines")))
-                    return;
-            }
-        } catch (SQLException e) {
-            System.err.println("Could not determine whether database tables are set up.");
-        }
-
-        System.out.println("Beginning first time setup...");
-        setupSchema();
-
-        Alert notifyOfAdmin = new Alert(Alert.AlertType.INFORMATION);        //warn about admin login
-        notifyOfAdmin.setTitle("Welcome to LyfeLine!");
-        notifyOfAdmin.setHeaderText("The default admin login is Admin@gmail.com using password 'Passw0rd!'");
-        notifyOfAdmin.setContentText("This message will not show after first time setup.");
-        notifyOfAdmin.showAndWait();
-        System.out.println("\nWelcome to LyfeLine! The default admin login is Admin@gmail.com using password 'Passw0rd!' This message will not show after first time setup.");
-
-        Alert confirmLoad = new Alert(Alert.AlertType.CONFIRMATION);        //ask if user wants dummy data
-        confirmLoad.setTitle("Demonstration Data");
-        confirmLoad.setHeaderText("The database is empty.");
-        confirmLoad.setContentText("Would you like to load some demonstration data?");
-        Optional<ButtonType> result = confirmLoad.showAndWait();
-        if (result.isPresent() && result.get() == ButtonType.CANCEL)
-            return;
-
-        Gson gson = JSONTimeline.getGson();
-        String inJSON;
-        File directory = new File("src/main/resources/dummy_data/");
-        if (directory.listFiles() == null)
-            return;
-        for (File f : Objects.requireNonNull(directory.listFiles())) {
-            try {
-                inJSON = FileUtils.readFileToString(f, (Charset) null);             //import Json from file
-                gson.fromJson(inJSON, JSONTimeline.class).importToDB();             //parse Json with GSON object and import it to the DB
-            } catch (IOException ignore) {                                          //if one fails to read, skip it
-            }
-        }
-    }
-
-    public static void close() {                                           //close the connection when you're done please
-        try {
-            if (conn != null) {
-                conn.close();
-                conn = null;
-            }
-        } catch (SQLException e) {
-            System.err.println("Could not close database.");
-        }
-    }
-}
+package database;
+
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ProgressBar;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.*;
+
+//Database manager class for easier connecting and interacting
+public class DBM {
+    private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
+    private static final String creationScript = "src/main/resources/Database_Creation_Script.sql";
+    static final int IN_LIST_BATCH_SIZE = 1000;                          //max IDs bound into a single IN (...) clause
+    static final int POOL_SIZE = 8;                                      //max connections open at once, one per thread using the DB
+    private static final ThreadLocal<ConnectionPool.Lease> lease = new ThreadLocal<>();
+    private static volatile ConnectionPool pool = null;
+    public static Connection conn = threadBoundConnection();             //every call is run on the calling thread's own pooled connection
+    private static String DB_URL = "jdbc:mysql://localhost?useTimezone=true&serverTimezone=UTC&rewriteBatchedStatements=true";
+    private static String USER = "root";
+    private static String PASS = "yourpasshere";
+    private static String SCHEMA = "project";
+
+    public DBM() {                                                         //Connect to server with default settings
+        this(SCHEMA);
+    }
+
+    public DBM(String SCHEMA) {                                            //Connect to server with alternate schema name
+        this(DB_URL, USER, PASS, SCHEMA);
+    }
+
+    public DBM(String USER, String PASS) {                                 //Connect to server with alternate login
+        this(DB_URL, USER, PASS);
+    }
+
+    public DBM(String DB_URL, String USER, String PASS) {                  //Connect to alternate server
+        this(DB_URL, USER, PASS, SCHEMA);
+    }
+
+    public DBM(String DB_URL, String USER, String PASS, String SCHEMA) {   //Connect to server with alternate settings
+        close();                        //if connection is already open, close it before making a new one
+
+        DBM.DB_URL = DB_URL;
+        DBM.USER = USER;
+        DBM.PASS = PASS;
+        DBM.SCHEMA = SCHEMA;
+        try {
+            //Register JDBC driver
+            Class.forName(JDBC_DRIVER);
+
+            //Open a connection, the connecting thread (usually the UI thread) keeps its connection for good
+            System.out.println("Connecting to selected database...");
+            pool = new ConnectionPool(DB_URL, USER, PASS, POOL_SIZE);
+            lease.set(pool.borrow(true));
+
+            //Connect to schema
+            useSchema(SCHEMA);
+        } catch (ClassNotFoundException e) {
+            System.err.println("Could not access JDBC drivers");
+        } catch (SQLException e) {
+            System.err.println("Could not connect to database.");
+        }
+        System.out.println("Connected to database successfully.");
+    }
+
+    public static void setupSchema() {   //creates schema from default script
+        try {
+            System.out.println("Creating schema...");
+            dropSchema();
+            useSchema(SCHEMA);
+
+            //Read and run the database creation script
+            System.out.println("Creating table(s) in given database...");
+            runScript(creationScript);
+            System.out.println("Schema created successfully.");
+        } catch (SQLException | FileNotFoundException e) {
+            e.printStackTrace();
+            System.err.println("Could not run Database_Creation_Script");
+        }
+    }
+
+    public static void useSchema(String SCHEMA) throws SQLException {
+        System.out.println("Attempting to connect to schema...");
+        try (Statement stmt = conn.createStatement()) {
+            if (!stmt.executeQuery("SHOW DATABASES LIKE '" + SCHEMA + "';").next()) //swaps to a different schema, creating it if it doesn't exist
+                stmt.execute("CREATE SCHEMA `" + SCHEMA + "`");                     //note: you may want to rerun setupSchema() if on a brand new schema
+            stmt.execute("USE " + SCHEMA);
+            pool.setSchema(SCHEMA);                                                 //other threads' connections switch over when borrowed
+            DBM.SCHEMA = SCHEMA;
+        }
+    }
+
+    public static void createTestData() throws FileNotFoundException, SQLException {    //for testing
+        runScript("src/main/resources/Test_Data_Setup.sql");
+    }
+
+    private static void runScript(String script) throws FileNotFoundException, SQLException {      //private read-in method for DB creation script
+        File sql = new File(script);
+        try (Statement stmt = conn.createStatement();
+             Scanner sqlScan = new Scanner(sql)) {
+            sqlScan.useDelimiter(";[\\r\\n]{3,}");
+            while (sqlScan.hasNext()) {
+                String query = sqlScan.next();
+                if (!query.isBlank())
+                    stmt.addBatch(query);           //technically SQL-injectable but by the time someone can edit the script they can do anything
+            }
+            stmt.executeBatch();                    //sent together instead of waiting on the server after every statement
+        }
+    }
+
+    //Runs PreparedStatement and uses Functional Interface method to parse each row returned into an object
+    //How To Define The "creatable" Input:
+    //functional interfaces can use the implementation defined by an object,    e.g. new User() returns a List<User>
+    //or they can accept a lambda/method directly, which must take in a ResultSet and output an Object,     e.g. rs -> rs.getString("Name") will return a List<String> from the ResultSet's Name field
+    public static <T> List<T> getFromDB(PreparedStatement query, CreatableFromDB<T> creatable) throws SQLException {
+        List<T> out = new ArrayList<>();
+
+        //Runs input query to get ResultSet, then adds created objects to list
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                out.add(creatable.createFromDB(rs));
+            }
+            return out;
+        }
+    }
+
+    //Runs a query with an "IN (%s)" clause once per batch of IDs, so loading related rows for a large number of objects
+    //takes a handful of round trips instead of one per object. Rows from every batch are parsed into the same list
+    public static <T> List<T> getFromDBByIDs(String query, Collection<Integer> ids, CreatableFromDB<T> creatable) throws SQLException {
+        List<T> out = new ArrayList<>();
+        List<Integer> idList = new ArrayList<>(ids);
+
+        for (int from = 0; from < idList.size(); from += IN_LIST_BATCH_SIZE) {
+            List<Integer> batch = idList.subList(from, Math.min(from + IN_LIST_BATCH_SIZE, idList.size()));
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+
+            try (PreparedStatement stmt = prepare(String.format(query, placeholders))) {
+                for (int i = 0; i < batch.size(); i++)
+                    stmt.setInt(i + 1, batch.get(i));
+                out.addAll(getFromDB(stmt, creatable));
+            }
+        }
+        return out;
+    }
+
+    public static <T> void insertIntoDB(List<T> insert) throws SQLException {           //convenience method so inserting works with Lists
+        if (!insert.isEmpty())                                     //nothing to do, and asArray needs an element for its type
+            insertIntoDB(asArray(insert));
+    }
+
+    @SafeVarargs
+    public static <T> void insertIntoDB(DBObject<T>... insert) throws SQLException {    //DON'T INSERT OBJECTS OF DIFFERENT TYPES
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        boolean ownTransaction = conn.getAutoCommit();             //if the caller has a transaction going, leave committing to them
+        try {
+            if (ownTransaction)
+                conn.setAutoCommit(false);                          //turn off autocommit so statements don't run as soon as they're added to the batch
+            for (DBObject<T> t : insert) {                          //iterate through all inserted T
+                if (t == null)
+                    continue;
+                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
+                    stmt = t.getInsertQuery();
+
+                if (t.getID() > 0)                                  //if something has an ID it already exists in DB
+                    throw new SQLException("Cannot update " + t.getClass().getSimpleName() + " not in database.");
+
+                t.addToBatch(stmt);                             //get the values of each T and add them to the batch
+            }
+            if (stmt == null)
+                return;
+            stmt.executeBatch();                                    //run the batch
+            if (ownTransaction)
+                conn.commit();
+
+            rs = stmt.getGeneratedKeys();
+            for (DBObject<T> t : insert) {                          //after insertion, get the autogenerated ID and pass it to objects that were inserted
+                if (t == null)
+                    continue;
+                rs.next();
+                t.setID(rs.getInt(1));
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction)
+                conn.rollback();                                    //or turning autocommit back on would commit part of the batch
+            throw e;
+        } finally {
+            if (rs != null)
+                rs.close();
+            if (stmt != null)
+                stmt.close();
+            if (ownTransaction)
+                conn.setAutoCommit(true);                           //turn autocommit back on so people can use the DB normally
+        }
+    }
+
+    public static <T> void updateInDB(List<T> update) throws SQLException {             //convenience method so updating works with Lists
+        if (!update.isEmpty())                                     //nothing to do, and asArray needs an element for its type
+            updateInDB(asArray(update));
+    }
+
+    @SafeVarargs
+    public static <T> void updateInDB(DBObject<T>... update) throws SQLException {      //DON'T INSERT OBJECTS OF DIFFERENT TYPES
+        PreparedStatement stmt = null;
+        boolean ownTransaction = conn.getAutoCommit();             //if the caller has a transaction going, leave committing to them
+        try {
+            if (ownTransaction)
+                conn.setAutoCommit(false);                          //turn off autocommit so statements don't run as soon as they're added to the batch
+            for (DBObject<T> t : update) {                          //iterate through all inserted T
+                if (t == null)
+                    continue;
+                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
+                    stmt = t.getUpdateQuery();
+
+                if (t.getID() == 0)                                 //if something has no ID it doesn't exist in DB
+                    throw new SQLException(t.getClass().getSimpleName() + " is already in database");
+
+                t.addToBatch(stmt);                             //get the values of each T and add them to the batch
+            }
+            if (stmt != null)
+                stmt.executeBatch();                                //run the batch
+            if (ownTransaction)
+                conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction)
+                conn.rollback();                                    //or turning autocommit back on would commit part of the batch
+            throw e;
+        } finally {
+            if (stmt != null)
+                stmt.close();
+            if (ownTransaction)
+                conn.setAutoCommit(true);                           //turn autocommit back on so people can use the DB normally
+        }
+    }
+
+    public static <T> void deleteFromDB(List<T> delete) throws SQLException {           //convenience method so deleting works with Lists
+        if (!delete.isEmpty())                                     //nothing to do, and asArray needs an element for its type
+            deleteFromDB(asArray(delete));
+    }
+
+    @SafeVarargs
+    public static <T> void deleteFromDB(DBObject<T>... delete) throws SQLException {           //DON'T INSERT OBJECTS OF DIFFERENT TYPES
+        PreparedStatement stmt = null;
+        boolean ownTransaction = conn.getAutoCommit();             //if the caller has a transaction going, leave committing to them
+        try {
+            if (ownTransaction)
+                conn.setAutoCommit(false);                          //turn off autocommit so statements don't run as soon as they're added to the batch
+            for (DBObject<T> t : delete) {                          //iterate through all inserted T
+                if (t == null)
+                    continue;
+                if (stmt == null)                                   //get T-specific prepared statement from the first nonnull T
+                    stmt = t.getDeleteQuery();
+
+                stmt.setInt(1, t.getID());              //get the ID of each T and
+                stmt.addBatch();                                    //add it to the batch
+            }
+
+            if (stmt != null)
+                stmt.executeBatch();                                //run the batch
+            for (DBObject<T> t : delete)
+                if (t != null)
+                    t.deleteImage();                                //delete images along with database info, once the rows using them are gone
+            if (ownTransaction)
+                conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            if (ownTransaction)
+                conn.rollback();                                    //or turning autocommit back on would commit part of the batch
+            throw e;
+        } finally {
+            if (stmt != null)
+                stmt.close();
+            if (ownTransaction)
+                conn.setAutoCommit(true);                           //turn autocommit back on so people can use the DB normally
+        }
+    }
+
+    //True if the statement broke a unique key or other constraint, like a second user with the same email. Batches wrap
+    //the driver's exception, so its causes are checked too
+    public static boolean violatesConstraint(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause())
+            if (t instanceof SQLIntegrityConstraintViolationException || (t instanceof SQLException && "23000".equals(((SQLException) t).getSQLState())))
+                return true;
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> DBObject<T>[] asArray(List<T> list) {         //converts List to Array manually since java doesn't like generic arrays
+        try {                                                       //don't mix types, and if in doubt just convert to a typed array yourself
+            DBObject<T>[] asArray = (DBObject<T>[]) java.lang.reflect.Array.newInstance(list.get(0).getClass(), list.size());
+            for (int i = 0; i < list.size(); i++) {                 //don't try to run empty Lists either, if this method gets abused I'm removing it
+                asArray[i] = (DBObject<T>) list.get(i);
+            }
+            return asArray;
+        } catch (ClassCastException e) {
+            throw new ClassCastException("Class does not implement DBObject<T>");       //clearer exception message
+        }
+    }
+
+    public static void dropSchema() {                                      //drop current schema
+        try (PreparedStatement stmt = conn.prepareStatement("DROP DATABASE IF EXISTS " + SCHEMA)) {
+            stmt.execute();
+        } catch (SQLException e) {
+            System.err.println("Could not drop database " + SCHEMA);
+        }
+    }
+
+    public static boolean setupIfNeeded() {  //check if tables exist in DB, if not then create them, returns true if it did
+        try {
+            DatabaseMetaData schemaCheck = conn.getMetaData();
+
+            try (ResultSet tableList = schemaCheck.getTables(SCHEMA, null, "timelines", null)) {
+                if (tableList.next() && (tableList.getString("TABLE_NAME").equals("timelines"))) {
+                    migrate();
+                    return false;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not determine whether database tables are set up.");
+        }
+
+        System.out.println("Beginning first time setup...");
+        setupSchema();
+        return true;
+    }
+
+    public static void firstTimeSetup() {    //sets up the DB if needed and offers to import dummy data
+        if (!setupIfNeeded())
+            return;
+
+        Alert notifyOfAdmin = new Alert(Alert.AlertType.INFORMATION);        //warn about admin login
+        notifyOfAdmin.setTitle("Welcome to LyfeLine!");
+        notifyOfAdmin.setHeaderText("The default admin login is Admin@gmail.com using password 'Passw0rd!'");
+        notifyOfAdmin.setContentText("This message will not show after first time setup.");
+        notifyOfAdmin.showAndWait();
+        System.out.println("\nWelcome to LyfeLine! The default admin login is Admin@gmail.com using password 'Passw0rd!' This message will not show after first time setup.");
+
+        Alert confirmLoad = new Alert(Alert.AlertType.CONFIRMATION);        //ask if user wants dummy data
+        confirmLoad.setTitle("Demonstration Data");
+        confirmLoad.setHeaderText("The database is empty.");
+        confirmLoad.setContentText("Would you like to load some demonstration data?");
+        Optional<ButtonType> result = confirmLoad.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.CANCEL)
+            return;
+
+        File[] files = new File(DataSeeder.DEMO_DATA).listFiles();
+        if (files == null)
+            return;
+
+        Task<Integer> seeding = new Task<>() {                              //imports the files on pooled connections while the UI carries on
+            @Override
+            protected Integer call() throws InterruptedException {
+                return new DataSeeder(DataSeeder.defaultThreads()).seed(Arrays.asList(files), this::updateProgress);
+            }
+        };
+        ProgressBar progress = new ProgressBar();
+        progress.setMaxWidth(Double.MAX_VALUE);
+        progress.progressProperty().bind(seeding.progressProperty());
+        Alert loading = new Alert(Alert.AlertType.INFORMATION);
+        loading.setTitle("Demonstration Data");
+        loading.setHeaderText("Loading demonstration data...");
+        loading.getDialogPane().setContent(progress);
+        seeding.setOnSucceeded(e -> loading.setHeaderText("Loaded " + seeding.getValue() + " of " + files.length + " demonstration timelines."));
+        seeding.setOnFailed(e -> loading.setHeaderText("Could not load the demonstration data."));
+        loading.show();
+
+        Thread thread = new Thread(seeding, "Demonstration data loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static ConnectionPool getPool() {                               //for reading pool metrics, null when not connected
+        return pool;
+    }
+
+    public static void release() {           //hands this thread's connection back to the pool, call when a background thread is done with the DB
+        ConnectionPool.Lease held = lease.get();
+        lease.remove();
+        if (held != null)
+            held.pool.release(held);
+    }
+
+    private static void migrate() {             //brings databases made by older versions up to the current schema
+        try {
+            if (!hasColumn("events", "StartKey"))
+                runMigration("src/main/resources/Migration_Sortable_Dates.sql");
+            if (!hasIndex("timelineevents", "TimelineID_idx"))
+                runMigration("src/main/resources/Migration_Join_Keys.sql");
+            if (!hasColumn("timelines", "RatingCount"))
+                runMigration("src/main/resources/Migration_Rating_Totals.sql");
+            if (!hasColumn("images", "Refs"))
+                runMigration("src/main/resources/Migration_Image_Refs.sql");
+            if (columnSize("users", "Password") < 100)
+                runMigration("src/main/resources/Migration_Password_Length.sql");
+        } catch (SQLException e) {
+            System.err.println("Could not determine whether the database needs updating.");
+        }
+    }
+
+    private static boolean hasColumn(String table, String column) throws SQLException {
+        try (ResultSet columns = conn.getMetaData().getColumns(SCHEMA, null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    private static int columnSize(String table, String column) throws SQLException {
+        try (ResultSet columns = conn.getMetaData().getColumns(SCHEMA, null, table, column)) {
+            return columns.next() ? columns.getInt("COLUMN_SIZE") : 0;
+        }
+    }
+
+    private static boolean hasIndex(String table, String index) throws SQLException {
+        try (ResultSet indexes = conn.getMetaData().getIndexInfo(SCHEMA, null, table, false, false)) {
+            while (indexes.next())
+                if (index.equals(indexes.getString("INDEX_NAME")))
+                    return true;
+            return false;
+        }
+    }
+
+    private static void runMigration(String script) {
+        System.out.println("Updating database with " + script + "...");
+        try {
+            runScript(script);
+        } catch (SQLException | FileNotFoundException e) {
+            System.err.println("Could not update database with " + script);
+        }
+    }
+
+    public static void close() {                                           //close the connection when you're done please
+        lease.remove();
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    //Prepared statements for the calling thread's connection, reused by SQL text instead of being prepared on every call
+    //Close them like any other statement (try-with-resources), which hands them back to the cache
+    public static PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public static PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        return lease().statements.prepare(sql, autoGeneratedKeys);
+    }
+
+    private static ConnectionPool.Lease lease() throws SQLException {      //the calling thread's connection, leased from the pool on first use
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed())
+            throw new SQLException("Not connected to database.");
+
+        ConnectionPool.Lease held = lease.get();
+        if (held == null || held.pool != current) {                         //nothing leased yet, or leased from a pool that has since been replaced
+            held = current.borrow(false);
+            lease.set(held);
+        }
+        return held;
+    }
+
+    private static Connection threadBoundConnection() {                     //lets DBM.conn be used as before while each thread gets its own connection
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":                                               //closing "the" connection closes the whole pool, like it used to
+                    close();
+                    return null;
+                case "isClosed":
+                    return pool == null || pool.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "DBM connection for thread " + Thread.currentThread().getName();
+            }
+            try {
+                return method.invoke(lease().connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
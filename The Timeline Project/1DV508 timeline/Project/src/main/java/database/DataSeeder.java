@@ -0,0 +1,186 @@
+package database;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Loads exported timelines into the DB several at a time, for the demonstration data and for seeding test environments
+//Files are read in parallel, then imported on pooled connections of their own. Timelines with the same owner are imported
+//one after another by the same thread, so two imports can't both add that owner or both add an event they share
+public class DataSeeder {
+    public static final String DEMO_DATA = "src/main/resources/dummy_data/";
+    private final int threads;
+
+    public interface Progress {
+        void update(long done, long total);         //same as Task.updateProgress, so a Task can pass this::updateProgress
+    }
+
+    public DataSeeder(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    public static int defaultThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    //Returns how many timelines were imported. Reading and importing each count as a step towards the progress total
+    public int seed(List<File> files, Progress progress) throws InterruptedException {
+        long start = System.nanoTime();
+        long total = files.size() * 2L;
+        AtomicLong done = new AtomicLong();
+        AtomicInteger imported = new AtomicInteger();
+        ExecutorService readers = Executors.newFixedThreadPool(threads, r -> daemon(r, "Seeder reader"));
+        ExecutorService importers = Executors.newFixedThreadPool(Math.min(threads, DBM.POOL_SIZE - 1), r -> daemon(r, "Seeder importer"));    //one connection stays with the UI thread
+
+        try {
+            List<Future<JSONTimeline>> reads = new ArrayList<>();
+            for (File f : files)
+                reads.add(readers.submit(() -> {
+                    try {
+                        return JSONTimeline.readFrom(f);
+                    } finally {
+                        progress.update(done.incrementAndGet(), total);
+                    }
+                }));
+
+            Map<String, List<JSONTimeline>> byOwner = new LinkedHashMap<>();
+            Map<JSONTimeline, File> sources = new LinkedHashMap<>();
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    JSONTimeline read = reads.get(i).get();
+                    byOwner.computeIfAbsent(read.getOwnerEmail(), k -> new ArrayList<>()).add(read);
+                    sources.put(read, files.get(i));
+                } catch (ExecutionException e) {                            //if one fails to read, skip it
+                    System.err.println("Could not read " + files.get(i).getName());
+                    progress.update(done.incrementAndGet(), total);
+                }
+            }
+
+            List<File> failed = Collections.synchronizedList(new ArrayList<>());
+            List<Future<?>> imports = new ArrayList<>();
+            for (List<JSONTimeline> sameOwner : byOwner.values())
+                imports.add(importers.submit(() -> {
+                    try {
+                        for (JSONTimeline timeline : sameOwner) {       //one failing doesn't stop the owner's others
+                            try {
+                                if (timeline.importToDB())
+                                    imported.incrementAndGet();
+                                else
+                                    failed.add(sources.get(timeline));
+                            } catch (RuntimeException e) {
+                                e.printStackTrace();
+                                failed.add(sources.get(timeline));
+                            }
+                            progress.update(done.incrementAndGet(), total);
+                        }
+                    } finally {
+                        DBM.release();                                      //hand the connection back for the next owner's timelines
+                    }
+                }));
+            awaitAll(imports);
+
+            if (!failed.isEmpty())                                          //imports that ran into each other, like deadlocks, get another go alone
+                awaitAll(List.of(importers.submit(() -> {
+                    try {
+                        for (File f : failed) {
+                            try {
+                                if (JSONTimeline.readFrom(f).importToDB())
+                                    imported.incrementAndGet();
+                            } catch (IOException e) {
+                                System.err.println("Could not read " + f.getName());
+                            } catch (RuntimeException e) {
+                                System.err.println("Could not import " + f.getName());
+                                e.printStackTrace();
+                            }
+                        }
+                    } finally {
+                        DBM.release();
+                    }
+                })));
+        } finally {
+            readers.shutdownNow();
+            importers.shutdownNow();
+        }
+
+        System.out.println("Seeded " + imported.get() + " of " + files.size() + " timelines in " + (System.nanoTime() - start) / 1000000 + "ms");
+        return imported.get();
+    }
+
+    private static void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                e.getCause().printStackTrace();
+            }
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    //Headless seeding, for CI and staging: DataSeeder [--schema name] [--threads n] [--reset] [files or directories...]
+    //Loads the demonstration data if no files are given, and exits with 1 if any of them didn't make it in
+    public static void main(String[] args) throws InterruptedException {
+        String schema = null;
+        int threads = defaultThreads();
+        boolean reset = false;
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--schema":
+                    schema = args[++i];
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--reset":
+                    reset = true;
+                    break;
+                default:
+                    File f = new File(args[i]);
+                    File[] inside = f.listFiles();
+                    files.addAll(inside == null ? List.of(f) : Arrays.asList(inside));
+            }
+        }
+        if (files.isEmpty())
+            files.addAll(Arrays.asList(Objects.requireNonNull(new File(DEMO_DATA).listFiles())));
+
+        if (schema == null)
+            new DBM();
+        else
+            new DBM(schema);
+        if (reset)
+            DBM.setupSchema();
+        else
+            DBM.setupIfNeeded();
+
+        long[] lastPercent = {-1};
+        int imported = new DataSeeder(threads).seed(files, (done, total) -> {
+            synchronized (lastPercent) {
+                long percent = done * 100 / total;
+                if (percent / 10 > lastPercent[0] / 10) {                   //every 10%, enough to see it's moving in a CI log
+                    lastPercent[0] = percent;
+                    System.out.println("Seeding... " + percent + "%");
+                }
+            }
+        });
+        DBM.close();
+        System.exit(imported == files.size() ? 0 : 1);
+    }
+}
@@ -0,0 +1,93 @@
+package database;
+
+import utils.ImageUtils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+//Moves images saved before they were stored by content into the image store (see ImageUtils.saveImage), pointing the
+//events and timelines that use them at the stored copy. Copies of the same picture end up as one file
+//The old files are kept unless asked otherwise, since other schemas, like the tests', may use the same ones
+public class ImageMigration {
+    private final boolean deleteOld;
+
+    public ImageMigration(boolean deleteOld) {
+        this.deleteOld = deleteOld;
+    }
+
+    public int migrate() throws SQLException {                  //returns how many images were moved
+        List<String> old;
+        try (PreparedStatement stmt = DBM.prepare("SELECT `ImagePath` FROM `images` WHERE `Refs` > 0 AND `ImagePath` NOT LIKE ?")) {
+            stmt.setString(1, ImageUtils.IMAGE_STORE + "%");
+            old = DBM.getFromDB(stmt, rs -> rs.getString(1));
+        }
+
+        int moved = 0;
+        for (String path : old) {
+            String stored;
+            try (InputStream in = new FileInputStream(path)) {
+                stored = ImageUtils.saveImage(in, path);
+            } catch (IOException e) {
+                System.err.println("Could not read " + path + ", it's left where it is.");
+                continue;
+            }
+            if (stored == null)
+                continue;
+
+            repoint(path, stored);
+            if (deleteOld)
+                ImageRefs.release(path);                        //nothing uses it now
+            moved++;
+        }
+        System.out.println("Moved " + moved + " of " + old.size() + " images into " + ImageUtils.IMAGE_STORE);
+        return moved;
+    }
+
+    private static void repoint(String from, String to) throws SQLException {     //the triggers move the count over
+        DBM.conn.setAutoCommit(false);
+        try (PreparedStatement events = DBM.prepare("UPDATE `events` SET `ImagePath` = ? WHERE `ImagePath` = ?");
+             PreparedStatement timelines = DBM.prepare("UPDATE `timelines` SET `ImagePath` = ? WHERE `ImagePath` = ?")) {
+            for (PreparedStatement stmt : List.of(events, timelines)) {
+                stmt.setString(1, to);
+                stmt.setString(2, from);
+                stmt.executeUpdate();
+            }
+            DBM.conn.commit();
+        } catch (SQLException e) {
+            DBM.conn.rollback();
+            throw e;
+        } finally {
+            DBM.conn.setAutoCommit(true);
+        }
+    }
+
+    //ImageMigration [--schema name] [--delete-old]
+    public static void main(String[] args) throws SQLException {
+        String schema = null;
+        boolean deleteOld = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--schema":
+                    schema = args[++i];
+                    break;
+                case "--delete-old":
+                    deleteOld = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (schema == null)
+            new DBM();
+        else
+            new DBM(schema);
+        DBM.setupIfNeeded();                                    //adds the image counts to older databases
+        new ImageMigration(deleteOld).migrate();
+        DBM.close();
+    }
+}
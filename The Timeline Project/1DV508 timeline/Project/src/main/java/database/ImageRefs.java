@@ -0,0 +1,56 @@
+package database;
+
+import utils.ImageUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//Saved images are shared by every event and timeline with the same picture (see ImageUtils.saveImage). The images table
+//counts how many rows use each one, kept up to date by triggers, and an image is only deleted once that's back to zero
+//Images saved but not in the DB yet, like the ones of a timeline being imported, can be held so nothing deletes them
+public class ImageRefs {
+    private static final Map<String, Integer> held = new HashMap<>();     //by path, how many are holding it
+
+    public static int count(String imagePath) throws SQLException {         //how many events and timelines use it
+        try (PreparedStatement stmt = DBM.prepare("SELECT `Refs` FROM `images` WHERE `ImagePath` = ?")) {
+            stmt.setString(1, imagePath);
+            List<Integer> refs = DBM.getFromDB(stmt, rs -> rs.getInt(1));
+            return refs.isEmpty() ? 0 : refs.get(0);
+        }
+    }
+
+    //Deletes the image and its smaller versions if nothing uses or holds it. Call after the change that stopped using it
+    //is in the DB, on the same thread, so the count includes it even before it's committed
+    public static void release(String imagePath) {
+        if (imagePath == null || isHeld(imagePath))
+            return;
+        try {
+            if (count(imagePath) > 0)
+                return;
+            ImageUtils.deleteImage(imagePath);
+            try (PreparedStatement stmt = DBM.prepare("DELETE FROM `images` WHERE `ImagePath` = ? AND `Refs` <= 0")) {
+                stmt.setString(1, imagePath);
+                stmt.executeUpdate();
+            }
+        } catch (SQLException e) {                                          //kept, an unused file is better than a missing one
+            System.err.println("Could not check whether " + imagePath + " is still in use.");
+        }
+    }
+
+    static synchronized void hold(String imagePath) {
+        if (imagePath != null)
+            held.merge(imagePath, 1, Integer::sum);
+    }
+
+    static synchronized void letGo(String imagePath) {
+        if (imagePath != null)
+            held.computeIfPresent(imagePath, (path, holders) -> holders > 1 ? holders - 1 : null);
+    }
+
+    private static synchronized boolean isHeld(String imagePath) {
+        return held.containsKey(imagePath);
+    }
+}
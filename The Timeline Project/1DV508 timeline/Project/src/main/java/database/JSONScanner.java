@@ -0,0 +1,186 @@
+package database;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackReader;
+import java.io.Reader;
+
+//Just enough of a JSON reader to walk an exported timeline: small values are handed out as text for Gson to parse, and
+//strings can be read as a stream of their characters. Gson's JsonReader only gives out whole strings, which for a
+//Base64 image means holding all of it in memory at once
+class JSONScanner {
+    private final PushbackReader in;
+
+    JSONScanner(Reader in) {
+        this.in = new PushbackReader(in instanceof BufferedReader ? in : new BufferedReader(in));
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+    }
+
+    boolean hasNext() throws IOException {          //true if another member or element follows, skipping the comma before it
+        int c = peek();
+        if (c == ',') {
+            read();
+            return true;
+        }
+        return c != '}' && c != ']';
+    }
+
+    String nextName() throws IOException {
+        expect('"');
+        StringBuilder name = new StringBuilder();
+        StringStream chars = new StringStream();
+        for (int c = chars.nextChar(); c >= 0; c = chars.nextChar())
+            name.append((char) c);
+        expect(':');
+        return name.toString();
+    }
+
+    boolean nextNull() throws IOException {         //consumes a null if that's what's next
+        if (peek() != 'n')
+            return false;
+        for (char c : "null".toCharArray())
+            expect(c, read());
+        return true;
+    }
+
+    //The next string's characters one at a time as bytes, for ASCII content like Base64. Closing it skips whatever
+    //wasn't read, so the scanner carries on after the string either way
+    InputStream nextString() throws IOException {
+        expect('"');
+        return new StringStream();
+    }
+
+    String nextRawValue() throws IOException {      //the next value as JSON text, for handing to Gson
+        StringBuilder out = new StringBuilder();
+        int c = peek();
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = read();
+                out.append((char) c);
+                if (c == '{' || c == '[')
+                    depth++;
+                else if (c == '}' || c == ']')
+                    depth--;
+                else if (c == '"')
+                    copyString(out);
+            } while (depth > 0);
+        } else if (c == '"') {
+            out.append((char) read());
+            copyString(out);
+        } else {                                    //number, true, false or null
+            while ((c = read()) != ',' && c != '}' && c != ']' && !Character.isWhitespace(c))
+                out.append((char) c);
+            in.unread(c);
+        }
+        return out.toString();
+    }
+
+    void skipValue() throws IOException {
+        if (peek() == '"')
+            nextString().close();
+        else
+            nextRawValue();
+    }
+
+    private void copyString(StringBuilder out) throws IOException {     //rest of a string after its opening quote, escapes untouched
+        int c;
+        while ((c = read()) != '"') {
+            out.append((char) c);
+            if (c == '\\')
+                out.append((char) read());
+        }
+        out.append('"');
+    }
+
+    private int read() throws IOException {
+        int c = in.read();
+        if (c < 0)
+            throw new EOFException("JSON ended early");
+        return c;
+    }
+
+    private int peek() throws IOException {         //next character that isn't whitespace, without consuming it
+        int c;
+        do
+            c = read();
+        while (Character.isWhitespace(c));
+        in.unread(c);
+        return c;
+    }
+
+    private void expect(char expected) throws IOException {
+        peek();
+        expect(expected, read());
+    }
+
+    private static void expect(char expected, int actual) throws IOException {
+        if (actual != expected)
+            throw new IOException("Malformed JSON, expected '" + expected + "' but found '" + (char) actual + "'");
+    }
+
+    private class StringStream extends InputStream {        //a string's characters with escapes undone, up to its closing quote
+        private boolean ended = false;
+
+        @Override
+        public int read() throws IOException {
+            int c = nextChar();
+            return c < 0 ? c : c & 0xFF;
+        }
+
+        int nextChar() throws IOException {
+            if (ended)
+                return -1;
+            int c = JSONScanner.this.read();
+            if (c == '"') {
+                ended = true;
+                return -1;
+            }
+            if (c != '\\')
+                return c;
+
+            c = JSONScanner.this.read();
+            switch (c) {
+                case 'u':                           //Gson escapes '=' among others this way
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++)
+                        hex[i] = (char) JSONScanner.this.read();
+                    return Integer.parseInt(new String(hex), 16);
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                default:                            //\" \\ and \/ stand for themselves
+                    return c;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            while (read() >= 0) ;
+        }
+    }
+}
@@ -1,259 +1,413 @@
-package database;
-
-import com.google.gson.FieldNamingPolicy;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.TypeAdapter;
-import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonToken;
-import com.google.gson.stream.JsonWriter;
-import org.apache.commons.io.FileUtils;
-import utils.ImageUtils;
-
-import java.io.File;
-import java.io.IOException;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.time.LocalDateTime;
-import java.util.*;
-
-//Convenience class that gathers all relevant information about a timeline for easy JSON export/import
-public class JSONTimeline {
-    private final Timeline timeline;            //Timelines hold their events in their own list, no need to duplicate here
-    private final Map<String, Integer> ratings;
-    private final String timelineImage;
-    private final List<String> eventImages;
-
-    public JSONTimeline(Timeline timeline) {    //gathers information about passed timeline for export
-        this.timeline = timeline;
-        this.timelineImage = toBase64(timeline.getImagePath());
-        eventImages = makeEventImages();
-        ratings = makeRatings();
-    }
-
-    //////////////////////////EXPORT METHODS//////////////////////////
-
-    private List<String> makeEventImages() {
-        List<String> out = new ArrayList<>(timeline.getEventList().size());
-
-        String imageContent;
-        for (int i = 0; i < timeline.getEventList().size(); i++) {
-            imageContent = timeline.getEventList().get(i).getImagePath();       //for each event, get their image
-            out.add(toBase64(imageContent));                            //convert to base64, and add that to the list
-        }
-        return out;
-    }
-
-    private String toBase64(String filePath) {          //read a file from its path and convert it to a Base 64 string
-        if (filePath == null)
-            return null;
-
-        try {
-            File imageFile = new File(filePath);
-            byte[] imageFileContent = FileUtils.readFileToByteArray(imageFile);
-            return Base64.getEncoder().encodeToString(imageFileContent);
-        } catch (IOException e) {
-            System.err.println("Could not find image at:" + filePath);
-            return null;
-        }
-    }
-
-    private Map<String, Integer> makeRatings() {                        //grab all ratings for this timeline from DB and store in List
-        Map<String, Integer> out = new TreeMap<>();
-        try (PreparedStatement stmt = DBM.conn.prepareStatement("SELECT u.UserEmail, r.Rating FROM ratings r " +
-                "INNER JOIN users u ON r.UserID = u.UserID " +      //can't just use calcRatings() in Timeline because that stores by ID
-                "WHERE r.TimelineID = ?")) {
-            stmt.setInt(1, timeline.getID());
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next())
-                out.put(rs.getString("UserEmail"), rs.getInt("Rating"));
-        } catch (SQLException e) {
-            System.err.println("Could not read ratings from database.");
-        }
-        return out;
-    }
-
-    //////////////////////////IMPORT METHODS//////////////////////////
-
-    //After importing a JSON file, use this to insert its contents into the DB
-    public void importToDB() {
-        int ownerID = matchOwnerInDB();         //check if owner is already in DB
-        if (ownerID > 0)                        //if he is, pass local owner's ID to other objects
-            setOwnership(ownerID);
-        else {                                  //otherwise add them to DB and pass newly generated ID to other objects
-            importOwner();
-            setOwnership(timeline.getOwner().getID());
-        }
-
-        importTimeline();
-        importEventList();
-        importRatings();
-    }
-
-    private void importTimeline() {
-        String filePath = ImageUtils.importImageFromBase64(timelineImage, timeline.getImagePath());           //save image and give its new filepath to the timeline
-        timeline.setImage(filePath);
-        try {
-            DBM.insertIntoDB(timeline);                         //no dupe checking, if they're at this point the user may want a dupe timeline
-        } catch (SQLException e) {
-            System.err.println("Could not access timeline database");
-        }
-    }
-
-    private void importEventList() {
-        Event eventToImport;
-        int eventID;
-        for (int i = 0; i < timeline.getEventList().size(); i++) {
-            eventToImport = timeline.getEventList().get(i);
-            eventID = matchEventInDB(eventToImport);
-            if (eventID > 0)                                        //if identical event is in DB, pass its ID to this event and call them equal
-                eventToImport.setID(eventID);
-            else {                                                  //otherwise add event to DB and pass newly generated ID to this event
-                String filePath = ImageUtils.importImageFromBase64(eventImages.get(i), timeline.getEventList().get(i).getImagePath());  //save image located in same index of imagesList, and give its new filepath to the timeline
-                eventToImport.setImage(filePath);
-
-                try {
-                    DBM.insertIntoDB(eventToImport);
-                } catch (SQLException e) {
-                    System.err.println("Could not access users database");
-                }
-            }
-
-            try {                                                   //add event to the new timeline on junction table
-                eventToImport.addToTimeline(timeline.getID());
-            } catch (SQLException e) {
-                System.err.println("Could not access timelineevents database.");
-            }
-        }
-    }
-
-    private int matchEventInDB(Event eventToImport) {                              //checks if identical event is in DB, returns event's ID if it is
-        try (PreparedStatement stmt = DBM.conn.prepareStatement("SELECT e.EventID FROM events e " +
-                "INNER JOIN users u ON e.EventOwner = u.UserID " +
-                "WHERE u.UserEmail = ? AND e.EventName = ? AND e.EventDescription = ? AND e.StartYear = ? AND " +
-                "StartMonth = ? AND `StartDay` = ? AND `StartHour` = ? AND `StartMinute` = ? AND `StartSecond` = ? AND " +
-                "`StartMillisecond` = ? AND `EndYear` = ? AND `EndMonth` = ? AND `EndDay` = ? AND `EndHour` = ? AND " +
-                "`EndMinute` = ? AND `EndSecond` = ? AND `EndMillisecond` = ? ")) {
-            stmt.setString(1, timeline.getOwner().getUserEmail());      //timeline and its events have same owner
-            stmt.setString(2, eventToImport.getName());
-            stmt.setString(3, eventToImport.getDescription());
-            stmt.setInt(4, eventToImport.getStartDate().getYear());
-            stmt.setInt(5, eventToImport.getStartDate().getMonthValue());
-            stmt.setInt(6, eventToImport.getStartDate().getDayOfMonth());
-            stmt.setInt(7, eventToImport.getStartDate().getHour());
-            stmt.setInt(8, eventToImport.getStartDate().getMinute());
-            stmt.setInt(9, eventToImport.getStartDate().getSecond());
-            stmt.setInt(10, eventToImport.getStartDate().getNano() / 1000000);
-            stmt.setInt(11, eventToImport.getEndDate().getYear());
-            stmt.setInt(12, eventToImport.getEndDate().getMonthValue());
-            stmt.setInt(13, eventToImport.getEndDate().getDayOfMonth());
-            stmt.setInt(14, eventToImport.getEndDate().getHour());
-            stmt.setInt(15, eventToImport.getEndDate().getMinute());
-            stmt.setInt(16, eventToImport.getEndDate().getSecond());
-            stmt.setInt(17, eventToImport.getEndDate().getNano() / 1000000);
-
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-            rs.close();
-        } catch (SQLException e) {
-            System.err.println("Could not access events database");
-        }
-        return 0;
-    }
-
-    private int matchOwnerInDB() {                              //checks if owner is in DB, returns owner's ID if they are
-        try (PreparedStatement stmt = DBM.conn.prepareStatement("SELECT UserID FROM users WHERE `UserEmail` = ?")) {
-            stmt.setString(1, timeline.getOwner().getUserEmail());
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-            rs.close();
-        } catch (SQLException e) {
-            System.err.println("Could not access users database");
-        }
-        return 0;
-    }
-
-    private void importOwner() {
-        try {
-            DBM.insertIntoDB(timeline.getOwner());
-        } catch (SQLException e) {
-            System.err.println("Could not access users database");
-        }
-    }
-
-    private void setOwnership(int ownerID) {                //sets ownerID of all objects to the passed value
-        timeline.getOwner().setID(ownerID);
-        timeline.setOwnerID(ownerID);
-        for (int i = 0; i < timeline.getEventList().size(); i++) {
-            timeline.getEventList().get(i).setOwnerID(ownerID);
-        }
-    }
-
-    public void importRatings() {
-        try (PreparedStatement readStmt = DBM.conn.prepareStatement("SELECT UserID, UserEmail FROM users");
-             PreparedStatement writeStmt = DBM.conn.prepareStatement("INSERT INTO ratings (`Rating`, `UserId`, `TimeLineID`) VALUES (?, ?, ?)")) {
-            writeStmt.setInt(3, timeline.getID());
-            DBM.conn.setAutoCommit(false);
-
-            ResultSet rs = readStmt.executeQuery();
-
-            Map<String, Integer> emailList = new TreeMap<>();
-            while (rs.next())                       //adds each user's email address alongside user's ID
-                emailList.put(rs.getString("UserEmail"), rs.getInt("UserID"));
-
-            ratings.keySet().retainAll(emailList.keySet());     //if user with that email is not found in local DB, don't add their rating
-
-            for (String rater : ratings.keySet()) {
-                writeStmt.setInt(1, ratings.get(rater));
-                writeStmt.setInt(2, emailList.get(rater));
-                writeStmt.addBatch();
-            }
-
-            rs.close();
-
-            writeStmt.executeBatch();
-        } catch (SQLException e) {                  //if we can't access the database to match users to local IDs, no point trying to add ratings
-            e.printStackTrace();//System.err.println("Could not access ratings database");
-        } finally {
-            try {
-                DBM.conn.setAutoCommit(true);
-            } catch (SQLException e) {
-                System.err.println("Could not access database.");
-            }
-        }
-    }
-
-
-    /////////////////JSON Serializers/Deserializers/////////////////
-    public static Gson getGson() {
-        return new GsonBuilder()
-                .setPrettyPrinting()
-                .registerTypeAdapter(LocalDateTime.class, getDateSerializer().nullSafe())
-                .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE_WITH_SPACES)
-                .create();
-    }
-
-    public static TypeAdapter<LocalDateTime> getDateSerializer() {
-        return new TypeAdapter<>() {
-            @Override
-            public void write(JsonWriter jsonWriter, LocalDateTime localDateTime) throws IOException {
-                jsonWriter.value(localDateTime.toString());
-            }
-
-            @Override
-            public LocalDateTime read(JsonReader jsonReader) throws IOException {
-                if (jsonReader.peek() == JsonToken.NULL) {
-                    jsonReader.nextNull();
-                    return null;
-                }
-
-                return LocalDateTime.parse(jsonReader.nextString());
-            }
-        };
-    }
-}
+package database;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.reflect.TypeToken;
+import utils.DateUtils;
+import utils.ImageUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+
+//Convenience class that gathers all relevant information about a timeline for easy JSON export/import
+//The file holds the timeline, its ratings by user email, then its image and each event's image in Base64. Images are
+//streamed between their files and the JSON, so the size of a timeline's images doesn't matter for memory
+public class JSONTimeline {
+    private static final Type RATINGS_TYPE = new TypeToken<Map<String, Integer>>() {}.getType();
+    private final Timeline timeline;            //Timelines hold their events in their own list, no need to duplicate here
+    private final Map<String, Integer> ratings;
+    private String timelineImage;               //on import, where the images were saved to, null for none
+    private final List<String> eventImages = new ArrayList<>();
+    private final List<String> unusedImages = new ArrayList<>();    //saved while reading but not needed after all
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+    public JSONTimeline(Timeline timeline) {    //gathers information about passed timeline for export
+        this.timeline = timeline;
+        ratings = makeRatings();
+    }
+
+    private JSONTimeline(Timeline timeline, Map<String, Integer> ratings) {
+        this.timeline = timeline;
+        this.ratings = ratings;
+    }
+
+    //////////////////////////EXPORT METHODS//////////////////////////
+
+    public void exportTo(File outFile) throws IOException {
+        Gson gson = getGson();
+        List<Event> events = timeline.getEventList();          //summaries load theirs now, Gson reads the field directly
+        try (Writer out = Files.newBufferedWriter(outFile.toPath(), StandardCharsets.UTF_8);
+             JsonWriter json = gson.newJsonWriter(out)) {
+            json.beginObject();
+            json.name("Timeline");
+            gson.toJson(timeline, Timeline.class, json);
+            json.name("Ratings");
+            gson.toJson(ratings, RATINGS_TYPE, json);
+
+            json.name("Timeline Image");
+            writeBase64(timeline.getImagePath(), json, out);
+            json.name("Event Images");
+            json.beginArray();
+            for (Event e : events)
+                writeBase64(e.getImagePath(), json, out);
+            json.endArray();
+            json.endObject();
+        }
+    }
+
+    //Writes the file at the path as a Base64 string value straight from the file into the output, without the JsonWriter
+    //ever seeing the whole string. It writes the opening quote as a raw value so it keeps track of commas and indents
+    private static void writeBase64(String filePath, JsonWriter json, Writer out) throws IOException {
+        if (filePath == null || !Files.isReadable(Paths.get(filePath))) {
+            if (filePath != null)
+                System.err.println("Could not find image at:" + filePath);
+            json.nullValue();
+            return;
+        }
+
+        json.jsonValue("\"");
+        json.flush();
+        OutputStream chars = new OutputStream() {      //Base64 is all ASCII, so each byte is one character
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+            }
+
+            @Override
+            public void close() {                      //leave the JSON open, only the encoder's padding needs flushing
+            }
+        };
+        try (OutputStream encoder = Base64.getEncoder().wrap(chars)) {
+            Files.copy(Paths.get(filePath), encoder);
+        }
+        out.write('"');
+    }
+
+    private Map<String, Integer> makeRatings() {                        //grab all ratings for this timeline from DB and store in List
+        Map<String, Integer> out = new TreeMap<>();
+        try (PreparedStatement stmt = DBM.prepare("SELECT u.UserEmail, r.Rating FROM ratings r " +
+                "INNER JOIN users u ON r.UserID = u.UserID " +      //can't just use calcRatings() in Timeline because that stores by ID
+                "WHERE r.TimelineID = ?")) {
+            stmt.setInt(1, timeline.getID());
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next())
+                out.put(rs.getString("UserEmail"), rs.getInt("Rating"));
+        } catch (SQLException e) {
+            System.err.println("Could not read ratings from database.");
+        }
+        return out;
+    }
+
+    //////////////////////////IMPORT METHODS//////////////////////////
+
+    //Reads an exported timeline, saving its images as they're read so they never have to be in memory. They're held
+    //until importToDB() is done with them, then ones that aren't used are deleted again, like those of events that
+    //turn out to be in the DB already (unless those use the very same picture, which they usually do)
+    public static JSONTimeline readFrom(File inFile) throws IOException {
+        Gson gson = getGson();
+        Map<String, Integer> ratings = new TreeMap<>();
+        JSONTimeline out = null;
+
+        try (Reader reader = Files.newBufferedReader(inFile.toPath(), StandardCharsets.UTF_8)) {
+            JSONScanner in = new JSONScanner(reader);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (name.equals("Timeline")) {
+                    out = new JSONTimeline(gson.fromJson(in.nextRawValue(), Timeline.class), ratings);
+                } else if (name.equals("Ratings")) {
+                    ratings.putAll(gson.fromJson(in.nextRawValue(), RATINGS_TYPE));
+                } else if (name.equals("Timeline Image") && out != null) {
+                    out.timelineImage = readImage(in, out.timeline.getImagePath());
+                } else if (name.equals("Event Images") && out != null && !in.nextNull()) {
+                    List<Event> events = out.timeline.getEventList();
+                    in.beginArray();
+                    for (int i = 0; in.hasNext(); i++)
+                        out.eventImages.add(readImage(in, i < events.size() ? events.get(i).getImagePath() : null));
+                    in.endArray();
+                } else {
+                    in.skipValue();             //anything unknown, or images before the timeline they belong to
+                }
+            }
+            in.endObject();
+        }
+
+        if (out == null)
+            throw new IOException("No timeline in " + inFile.getName());
+        return out;
+    }
+
+    private static String readImage(JSONScanner in, String filePath) throws IOException {      //returns where it was saved
+        if (in.nextNull())
+            return null;
+        try (InputStream base64 = in.nextString()) {
+            if (filePath == null)               //nowhere to put it, closing skips it
+                return null;
+            String saved = ImageUtils.saveImage(Base64.getMimeDecoder().wrap(base64), filePath);
+            ImageRefs.hold(saved);              //another import may have saved the same picture and not need it
+            return saved;
+        }
+    }
+
+    //After importing a JSON file, use this to insert its contents into the DB
+    //It all goes in as one transaction, so an import that fails partway leaves nothing behind. Which events are in the DB
+    //already is worked out with one query for the whole file, and everything else is inserted in batches
+    public boolean importToDB() {                   //false if it failed and nothing was added
+        phaseMillis.clear();
+        long start = System.nanoTime();
+        try {
+            DBM.conn.setAutoCommit(false);
+            try {
+                long phase = System.nanoTime();
+                importOwner();
+                phase = lap("owner", phase);
+                importTimeline();
+                phase = lap("timeline", phase);
+                importEventList(phase);
+                phase = System.nanoTime();
+                importRatings();
+                phase = lap("ratings", phase);
+                DBM.conn.commit();
+                lap("commit", phase);
+            } catch (SQLException | RuntimeException e) {          //anything that stops it partway, or autocommit would keep half of it
+                DBM.conn.rollback();
+                throw e;
+            } finally {
+                DBM.conn.setAutoCommit(true);
+            }
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Could not import timeline, nothing was added to the database.");
+            e.printStackTrace();
+            unusedImages.add(timelineImage);                        //images saved while reading would be left without a timeline
+            unusedImages.addAll(eventImages);
+            return false;
+        } finally {
+            releaseImages();
+        }
+
+        StringBuilder report = new StringBuilder("Imported " + timeline.getName() + " (" + timeline.getEventList().size()
+                + " events) in " + (System.nanoTime() - start) / 1000000 + "ms:");
+        phaseMillis.forEach((phase, millis) -> report.append(" ").append(phase).append(" ").append(millis).append("ms,"));
+        System.out.println(report.substring(0, report.length() - 1));
+        return true;
+    }
+
+    private void releaseImages() {                  //after the import, when the counts of the images it used are in the DB
+        ImageRefs.letGo(timelineImage);
+        eventImages.forEach(ImageRefs::letGo);
+        unusedImages.forEach(ImageRefs::release);
+        unusedImages.clear();
+    }
+
+    String getOwnerEmail() {
+        return timeline.getOwner().getUserEmail();
+    }
+
+    public Map<String, Long> getPhaseMillis() {     //how long each step of the last importToDB() took, in the order they ran
+        return Collections.unmodifiableMap(phaseMillis);
+    }
+
+    private long lap(String phase, long since) {
+        long now = System.nanoTime();
+        phaseMillis.put(phase, (now - since) / 1000000);
+        return now;
+    }
+
+    private void importOwner() throws SQLException {
+        int ownerID = matchOwnerInDB();         //check if owner is already in DB
+        if (ownerID > 0)                        //if he is, pass local owner's ID to other objects
+            setOwnership(ownerID);
+        else {                                  //otherwise add them to DB and pass newly generated ID to other objects
+            DBM.insertIntoDB(timeline.getOwner());
+            setOwnership(timeline.getOwner().getID());
+        }
+    }
+
+    private void importTimeline() throws SQLException {
+        timeline.setImage(timelineImage);                       //image was saved while reading, give its new filepath to the timeline
+        DBM.insertIntoDB(timeline);                             //no dupe checking, if they're at this point the user may want a dupe timeline
+    }
+
+    private void importEventList(long phase) throws SQLException {
+        List<Event> events = timeline.getEventList();
+        int[] matched = matchEventsInDB(events);
+        phase = lap("match events", phase);
+
+        List<Event> newEvents = new ArrayList<>();
+        Map<String, Event> inFile = new HashMap<>();                //identical events within the file go in once, like they used to
+        Event[] sameAs = new Event[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            Event eventToImport = events.get(i);
+            String filePath = i < eventImages.size() ? eventImages.get(i) : null;    //image saved while reading, same index as its event
+            if (matched[i] > 0) {                                   //if identical event is in DB, pass its ID to this event and call them equal
+                eventToImport.setID(matched[i]);
+                unusedImages.add(filePath);                         //it has its image already
+            } else if ((sameAs[i] = inFile.putIfAbsent(naturalKey(eventToImport), eventToImport)) != null) {
+                unusedImages.add(filePath);
+            } else {                                                //otherwise it's added to DB and gets a newly generated ID
+                eventToImport.setImage(filePath);
+                newEvents.add(eventToImport);
+            }
+        }
+        DBM.insertIntoDB(newEvents);
+        for (int i = 0; i < events.size(); i++)
+            if (sameAs[i] != null)
+                events.get(i).setID(sameAs[i].getID());
+        phase = lap("insert events", phase);
+
+        try (PreparedStatement stmt = DBM.prepare("INSERT IGNORE INTO `timelineevents` (`TimelineID`, `EventID`) VALUES (?, ?)")) {
+            stmt.setInt(1, timeline.getID());                       //add events to the new timeline on junction table, dupes are skipped
+            for (Event e : events) {
+                stmt.setInt(2, e.getID());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        lap("link events", phase);
+    }
+
+    private static String naturalKey(Event e) {                     //what makes two events identical, see matchEventsInDB()
+        return e.getName() + '\0' + e.getDescription() + '\0' + DateUtils.sortKey(e.getStartDate()) + '\0' + DateUtils.sortKey(e.getEndDate());
+    }
+
+    //Checks which events are in the DB already, returning each one's ID or 0 if it isn't. The events go into a temporary
+    //table which is joined with the owner's events in a single query, instead of one query per event. The start and end
+    //keys stand in for the fourteen date columns, they're equal exactly when those are, and StartKey_idx covers them
+    private int[] matchEventsInDB(List<Event> events) throws SQLException {
+        int[] out = new int[events.size()];
+        if (events.isEmpty())
+            return out;
+
+        try (Statement stmt = DBM.conn.createStatement()) {
+            stmt.execute("DROP TEMPORARY TABLE IF EXISTS `importevents`");
+            stmt.execute("CREATE TEMPORARY TABLE `importevents` (`Seq` int NOT NULL, PRIMARY KEY (`Seq`)) " +
+                    "SELECT `EventName`, `EventDescription`, `StartKey`, `EndKey` FROM `events` LIMIT 0");     //same column types as events
+            try {
+                try (PreparedStatement insert = DBM.prepare("INSERT INTO `importevents` " +
+                        "(`Seq`, `EventName`, `EventDescription`, `StartKey`, `EndKey`) VALUES (?, ?, ?, ?, ?)")) {
+                    for (int i = 0; i < events.size(); i++) {
+                        Event e = events.get(i);
+                        insert.setInt(1, i);
+                        insert.setString(2, e.getName());
+                        insert.setString(3, e.getDescription());
+                        insert.setBigDecimal(4, DateUtils.sortKey(e.getStartDate()));
+                        insert.setBigDecimal(5, DateUtils.sortKey(e.getEndDate()));
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                try (PreparedStatement match = DBM.prepare("SELECT i.`Seq`, MIN(e.`EventID`) FROM `importevents` i " +
+                        "INNER JOIN `events` e ON e.`StartKey` = i.`StartKey` AND e.`EndKey` = i.`EndKey` " +
+                        "AND e.`EventOwner` = ? AND e.`EventName` = i.`EventName` AND e.`EventDescription` = i.`EventDescription` " +
+                        "GROUP BY i.`Seq`")) {
+                    match.setInt(1, timeline.getOwnerID());             //timeline and its events have same owner
+                    ResultSet rs = match.executeQuery();
+                    while (rs.next())
+                        out[rs.getInt(1)] = rs.getInt(2);
+                    rs.close();
+                }
+            } finally {
+                stmt.execute("DROP TEMPORARY TABLE IF EXISTS `importevents`");
+            }
+        }
+        return out;
+    }
+
+    private int matchOwnerInDB() throws SQLException {          //checks if owner is in DB, returns owner's ID if they are
+        try (PreparedStatement stmt = DBM.prepare("SELECT UserID FROM users WHERE `UserEmail` = ?")) {
+            stmt.setString(1, timeline.getOwner().getUserEmail());
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+            rs.close();
+        }
+        return 0;
+    }
+
+    private void setOwnership(int ownerID) {                //sets ownerID of all objects to the passed value
+        timeline.getOwner().setID(ownerID);
+        timeline.setOwnerID(ownerID);
+        for (int i = 0; i < timeline.getEventList().size(); i++) {
+            timeline.getEventList().get(i).setOwnerID(ownerID);
+        }
+    }
+
+    private void importRatings() throws SQLException {
+        Map<String, Integer> userIDs = new HashMap<>();         //only looks up the raters, not every user in the DB
+        List<String> raters = new ArrayList<>(ratings.keySet());
+        for (int from = 0; from < raters.size(); from += DBM.IN_LIST_BATCH_SIZE) {
+            List<String> batch = raters.subList(from, Math.min(from + DBM.IN_LIST_BATCH_SIZE, raters.size()));
+            try (PreparedStatement stmt = DBM.prepare("SELECT UserID, UserEmail FROM users WHERE UserEmail IN (" +
+                    String.join(",", Collections.nCopies(batch.size(), "?")) + ")")) {
+                for (int i = 0; i < batch.size(); i++)
+                    stmt.setString(i + 1, batch.get(i));
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next())
+                    userIDs.put(rs.getString("UserEmail"), rs.getInt("UserID"));
+                rs.close();
+            }
+        }
+
+        ratings.keySet().retainAll(userIDs.keySet());       //if user with that email is not found in local DB, don't add their rating
+        if (ratings.isEmpty())
+            return;
+        try (PreparedStatement stmt = DBM.prepare("INSERT INTO ratings (`Rating`, `UserId`, `TimeLineID`) VALUES (?, ?, ?)")) {
+            stmt.setInt(3, timeline.getID());
+            for (String rater : ratings.keySet()) {
+                stmt.setInt(1, ratings.get(rater));
+                stmt.setInt(2, userIDs.get(rater));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /////////////////JSON Serializers/Deserializers/////////////////
+    public static Gson getGson() {
+        return new GsonBuilder()
+                .setPrettyPrinting()
+                .registerTypeAdapter(LocalDateTime.class, getDateSerializer().nullSafe())
+                .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE_WITH_SPACES)
+                .create();
+    }
+
+    public static TypeAdapter<LocalDateTime> getDateSerializer() {
+        return new TypeAdapter<>() {
+            @Override
+            public void write(JsonWriter jsonWriter, LocalDateTime localDateTime) throws IOException {
+                jsonWriter.value(localDateTime.toString());
+            }
+
+            @Override
+            public LocalDateTime read(JsonReader jsonReader) throws IOException {
+                if (jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+
+                return LocalDateTime.parse(jsonReader.nextString());
+            }
+        };
+    }
+}
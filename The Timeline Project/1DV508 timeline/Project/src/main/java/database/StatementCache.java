@@ -0,0 +1,134 @@
+package database;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+//LRU cache of prepared statements for one pooled connection, so the same SQL text is only prepared once per connection
+//Statements handed out must be closed as usual, closing puts them back in the cache instead of closing them for real
+class StatementCache {
+    private final Connection connection;
+    private final AtomicLong hits;                                          //shared with the pool for its metrics
+    private final AtomicLong misses;
+    private final LinkedHashMap<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);   //access order, eldest is least recently used
+    private int capacity;
+    private boolean closed = false;
+
+    StatementCache(Connection connection, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    private static class Entry {
+        final PreparedStatement statement;
+        boolean inUse = true;
+        boolean evicted = false;                                            //dropped from the cache while in use, closed once it's handed back
+
+        private Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        List<Object> key = List.of(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.inUse) {
+            hits.incrementAndGet();
+            entry.inUse = true;
+            return checkout(entry);
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement stmt = connection.prepareStatement(sql, autoGeneratedKeys);
+        if (entry != null || capacity <= 0 || closed)                       //same SQL already checked out (e.g. nested use) or caching off, hand out a plain one
+            return stmt;
+
+        entry = new Entry(stmt);
+        entries.put(key, entry);
+        evictDownTo(capacity);
+        return checkout(entry);
+    }
+
+    synchronized void setCapacity(int capacity) {
+        this.capacity = capacity;
+        evictDownTo(capacity);
+    }
+
+    synchronized void close() {                                             //statements still in use are closed when handed back
+        closed = true;
+        evictDownTo(0);
+    }
+
+    private void evictDownTo(int size) {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > size && eldest.hasNext()) {
+            Entry entry = eldest.next();
+            eldest.remove();
+            if (entry.inUse)
+                entry.evicted = true;
+            else
+                closeQuietly(entry.statement);
+        }
+    }
+
+    private synchronized void giveBack(Entry entry) {
+        entry.inUse = false;
+        if (entry.evicted) {
+            closeQuietly(entry.statement);
+            return;
+        }
+        try {                                                               //reset so the next user starts from a clean statement
+            entry.statement.clearParameters();
+            entry.statement.clearBatch();
+            entry.statement.clearWarnings();
+        } catch (SQLException e) {
+            entries.values().remove(entry);
+            closeQuietly(entry.statement);
+        }
+    }
+
+    //Each checkout gets its own handle, so a caller that keeps using a statement after closing it can't disturb the next one
+    private PreparedStatement checkout(Entry entry) {
+        boolean[] returned = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned[0]) {
+                        returned[0] = true;
+                        giveBack(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned[0] || entry.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return entry.statement.toString();
+            }
+            if (returned[0])
+                throw new SQLException("Statement is closed.");
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignore) {
+        }
+    }
+}
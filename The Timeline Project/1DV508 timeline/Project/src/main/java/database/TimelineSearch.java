@@ -0,0 +1,93 @@
+package database;
+
+import utils.DateUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+//Advanced search criteria for timelines, compiled into a single parameterised query so the filtering happens in the DB
+//Unset criteria are left out of the query, text criteria match case-insensitively anywhere in the field
+public class TimelineSearch {
+    private String name = "";
+    private String creator = "";
+    private List<String> keywords = new ArrayList<>();
+    private LocalDateTime startsAfter = null;           //inclusive
+    private LocalDateTime endsBefore = null;            //inclusive
+    private int minRating = 0;                          //compared against the average rating rounded up, 0 for any
+
+    public Set<Integer> findTimelineIDs() throws SQLException {        //IDs of all matching timelines, as a set for fast contains()
+        StringBuilder sql = new StringBuilder("SELECT t.TimelineID FROM timelines t " +
+                "INNER JOIN users u ON t.TimelineOwner = u.UserID " +
+                "WHERE TRUE ");
+        List<Object> params = new ArrayList<>();
+
+        if (!name.isEmpty()) {
+            sql.append("AND LOWER(t.TimelineName) LIKE ? COLLATE utf8mb4_bin ");     //binary so accents aren't folded away
+            params.add(containsPattern(name));
+        }
+        if (!creator.isEmpty()) {
+            sql.append("AND LOWER(u.UserName) LIKE ? COLLATE utf8mb4_bin ");
+            params.add(containsPattern(creator));
+        }
+        for (String keyword : keywords) {                                           //every word has to be somewhere in the keywords
+            sql.append("AND LOWER(t.Keywords) LIKE ? COLLATE utf8mb4_bin ");
+            params.add(containsPattern(keyword));
+        }
+        if (startsAfter != null) {                                                  //range scans on the indexed sortable dates
+            sql.append("AND t.StartKey >= ? ");
+            params.add(DateUtils.sortKey(startsAfter));
+        }
+        if (endsBefore != null) {
+            sql.append("AND t.EndKey <= ? ");
+            params.add(DateUtils.sortKey(endsBefore));
+        }
+        if (minRating > 0) {                                                        //average from the stored totals, unrated timelines count as 0
+            sql.append("AND t.RatingCount > 0 AND CEIL(t.RatingSum / t.RatingCount) >= ? ");
+            params.add(minRating);
+        }
+
+        try (PreparedStatement stmt = DBM.prepare(sql.toString())) {
+            for (int i = 0; i < params.size(); i++)
+                stmt.setObject(i + 1, params.get(i));
+            return new HashSet<>(DBM.getFromDB(stmt, rs -> rs.getInt("TimelineID")));
+        }
+    }
+
+    private static String containsPattern(String text) {           //escapes LIKE wildcards so they're matched literally
+        return "%" + text.toLowerCase().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    public void setName(String name) {
+        this.name = name == null ? "" : name;
+    }
+
+    public void setCreator(String creator) {
+        this.creator = creator == null ? "" : creator;
+    }
+
+    public void setKeywords(String keywords) {                      //space separated, as typed into the search field
+        this.keywords = new ArrayList<>();
+        if (keywords == null)
+            return;
+        for (String keyword : keywords.split(" "))
+            if (!keyword.isEmpty())
+                this.keywords.add(keyword);
+    }
+
+    public void setStartsAfter(LocalDateTime startsAfter) {
+        this.startsAfter = startsAfter;
+    }
+
+    public void setEndsBefore(LocalDateTime endsBefore) {
+        this.endsBefore = endsBefore;
+    }
+
+    public void setMinRating(int minRating) {
+        this.minRating = minRating;
+    }
+}
@@ -1,59 +1,68 @@
-package utils;
-
-import database.Timeline;
-
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.time.temporal.TemporalUnit;
-
-//Utility class to hold a couple of date-related methods, since java.time.LocalDateTime is final and can't be extended
-public class DateUtils {
-    public static int distanceBetween(LocalDateTime from, LocalDateTime to, int scale) {
-        TemporalUnit unit = null;
-        switch (scale) {
-            case 1:
-                unit = ChronoUnit.MILLIS;
-                break;
-            case 2:
-                unit = ChronoUnit.SECONDS;
-                break;
-            case 3:
-                unit = ChronoUnit.MINUTES;
-                break;
-            case 4:
-                unit = ChronoUnit.HOURS;
-                break;
-            case 5:
-                unit = ChronoUnit.DAYS;
-                break;
-            case 6:
-                unit = ChronoUnit.WEEKS;
-                break;
-            case 7:
-                unit = ChronoUnit.MONTHS;
-                break;
-            case 8:
-                unit = ChronoUnit.YEARS;
-                break;
-            case 9:
-                unit = ChronoUnit.DECADES;
-                break;
-            case 10:
-                unit = ChronoUnit.CENTURIES;
-                break;
-            case 11:
-                unit = ChronoUnit.MILLENNIA;
-                break;
-        }
-
-        assert unit != null;
-        return (int) from.until(to, unit);
-    }
-
-    public static String ddmmyyToString(Timeline activeTimeline) {
-        return activeTimeline.getStartDate().getDayOfMonth() + "."
-                + activeTimeline.getStartDate().getMonthValue() + "." + activeTimeline.getStartDate().getYear() + " - "
-                + activeTimeline.getEndDate().getDayOfMonth() + "." + activeTimeline.getEndDate().getMonthValue() + "."
-                + activeTimeline.getEndDate().getYear();
-    }
-}
+package utils;
+
+import database.Timeline;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+
+//Utility class to hold a couple of date-related methods, since java.time.LocalDateTime is final and can't be extended
+public class DateUtils {
+    public static int distanceBetween(LocalDateTime from, LocalDateTime to, int scale) {
+        TemporalUnit unit = null;
+        switch (scale) {
+            case 1:
+                unit = ChronoUnit.MILLIS;
+                break;
+            case 2:
+                unit = ChronoUnit.SECONDS;
+                break;
+            case 3:
+                unit = ChronoUnit.MINUTES;
+                break;
+            case 4:
+                unit = ChronoUnit.HOURS;
+                break;
+            case 5:
+                unit = ChronoUnit.DAYS;
+                break;
+            case 6:
+                unit = ChronoUnit.WEEKS;
+                break;
+            case 7:
+                unit = ChronoUnit.MONTHS;
+                break;
+            case 8:
+                unit = ChronoUnit.YEARS;
+                break;
+            case 9:
+                unit = ChronoUnit.DECADES;
+                break;
+            case 10:
+                unit = ChronoUnit.CENTURIES;
+                break;
+            case 11:
+                unit = ChronoUnit.MILLENNIA;
+                break;
+        }
+
+        assert unit != null;
+        return (int) from.until(to, unit);
+    }
+
+    //Packs a date into one number that sorts the same way as the date, year * 10^13 + MMddHHmmssSSS
+    //Needs more than a long for the +-999999999 years the UI allows, stored as DECIMAL(23,0) and matching SortKey() in the DB
+    public static BigDecimal sortKey(LocalDateTime date) {
+        long withinYear = date.getMonthValue() * 100000000000L + date.getDayOfMonth() * 1000000000L + date.getHour() * 10000000L
+                + date.getMinute() * 100000L + date.getSecond() * 1000L + date.getNano() / 1000000;
+        return BigDecimal.valueOf(date.getYear()).scaleByPowerOfTen(13).add(BigDecimal.valueOf(withinYear)).setScale(0);
+    }
+
+    public static String ddmmyyToString(Timeline activeTimeline) {
+        return activeTimeline.getStartDate().getDayOfMonth() + "."
+                + activeTimeline.getStartDate().getMonthValue() + "." + activeTimeline.getStartDate().getYear() + " - "
+                + activeTimeline.getEndDate().getDayOfMonth() + "." + activeTimeline.getEndDate().getMonthValue() + "."
+                + activeTimeline.getEndDate().getYear();
+    }
+}
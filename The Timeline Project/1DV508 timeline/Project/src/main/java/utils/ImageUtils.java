@@ -1,91 +1,159 @@
-package utils;
-
-import controllers.GUIManager;
-import javafx.stage.FileChooser;
-import org.apache.commons.io.FileUtils;
-
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.Base64;
-
-public class ImageUtils {
-
-    public static String importImageFromBase64(String base64ImageContents, String filePath) {       //imports an image from Base64 and returns its filepath
-        if (base64ImageContents == null)
-            return null;
-
-        byte[] imageBytes = Base64.getDecoder().decode(base64ImageContents);    //convert from Base 64
-        return saveImage(imageBytes, filePath);
-    }
-
-    public static String saveImage(byte[] imageFileContent, String filePath) {
-        try {
-            filePath = convertToSafeFileName(filePath);                         //rename file if necessary
-            filePath = appendNumberIfDupe(filePath);
-            FileUtils.writeByteArrayToFile(new File(filePath), imageFileContent);   //and save it
-            return filePath;
-        } catch (IOException e) {
-            System.err.println("Could not create file.");
-            return null;
-        }
-    }
-
-    public static String convertToSafeFileName(String fullPath) {       //makes file name safe (tested on Windows)
-        int indexOfFileName = fullPath.lastIndexOf("/") + 1;
-        String outPath = fullPath.substring(0, indexOfFileName);
-        String fileName = fullPath.substring(indexOfFileName);
-        fileName = fileName.replaceAll("[\\s]", "_")    //spaces and parentheses can break CSS
-                .replaceAll("[()]", "")
-                .replaceAll("[/:*?\"<>|\\\\]", "");     //illegal characters for file name
-
-        if (fileName.isEmpty())                                         //empty is technically legal but an uninspiring default name
-            fileName = "New_File";
-        else if (fileName.length() > 255)                               //max length is either 255 or within 5 chars over it
-            fileName = fileName.substring(0, 255);
-        return outPath + fileName;
-    }
-
-    public static String appendNumberIfDupe(String filePath) {
-        if (!Files.exists(Paths.get(filePath)))                         //quick check for the most common case, no dupes
-            return filePath;
-
-        String name = filePath.substring(0, filePath.lastIndexOf("."));
-        String extension = filePath.substring(filePath.lastIndexOf("."));
-        if (!name.matches(".+_\\d+"))                              //if file doesn't have a number appended yet, add one
-            name = name + "_1";
-
-        int indexOfNumber;
-        while (Files.exists(Paths.get(name + extension))) {         //increment number at end of file name until it's no longer a duplicate
-            indexOfNumber = name.lastIndexOf("_") + 1;
-            name = name.substring(0, indexOfNumber) + (Integer.parseInt(name.substring(indexOfNumber)) + 1);        //set name to what it was but increment the number at the end
-        }
-
-        return name + extension;
-    }
-
-    public static File saveFileChooser(String defaultName) {        //creates a FileChooser in save mode
-        FileChooser fileChooser = getFileChooser();
-        fileChooser.setInitialFileName(ImageUtils.convertToSafeFileName(defaultName));
-        fileChooser.setTitle("Save image");
-        return fileChooser.showSaveDialog(GUIManager.mainStage);
-    }
-
-    public static File openFileChooser() {                          //creates a FileChooser in open mode
-        FileChooser fileChooser = getFileChooser();
-        fileChooser.setTitle("Upload image");
-        return fileChooser.showOpenDialog(GUIManager.mainStage);
-    }
-
-    private static FileChooser getFileChooser() {                   //passes a FileChooser with the formats we support to above methods
-        FileChooser fileChooser = new FileChooser();
-        fileChooser.getExtensionFilters().addAll(
-                new FileChooser.ExtensionFilter("All Images", "*.jpg", "*.jpeg", "*.png", "*.bmp", "*.gif", "*.wbmp"),
-                new FileChooser.ExtensionFilter("JPG", "*.jpg"), new FileChooser.ExtensionFilter("JPEG", "*.jpeg"),
-                new FileChooser.ExtensionFilter("PNG", "*.png"), new FileChooser.ExtensionFilter("BMP", "*.bmp"),
-                new FileChooser.ExtensionFilter("GIF", "*.gif"), new FileChooser.ExtensionFilter("WBMP", "*.wbmp"));
-
-        return fileChooser;
-    }
-}
+package utils;
+
+import controllers.GUIManager;
+import javafx.stage.FileChooser;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+
+public class ImageUtils {
+
+    public static final String IMAGE_STORE = "src/main/resources/images/store/";
+
+    public static String importImageFromBase64(String base64ImageContents, String fileName) {       //imports an image from Base64 and returns its filepath
+        if (base64ImageContents == null)
+            return null;
+
+        byte[] imageBytes = Base64.getDecoder().decode(base64ImageContents);    //convert from Base 64
+        return saveImage(imageBytes, fileName);
+    }
+
+    public static String saveImage(byte[] imageFileContent, String fileName) {
+        return saveImage(new ByteArrayInputStream(imageFileContent), fileName);
+    }
+
+    public static String saveImage(InputStream imageFileContent, String fileName) {
+        return saveImage(imageFileContent, fileName, IMAGE_STORE);
+    }
+
+    //Images are stored by their content, as <store>/ab/cd/<SHA-256 of the content>.<extension of its format>, so saving a
+    //picture that's there already costs one existence check and no space, whatever the file it came from was called. Events and timelines with the same picture
+    //share the file, ImageRefs counts them and deletes it once none are left. Streamed, so the content is hashed as it's
+    //written instead of needing all of it in memory first
+    static String saveImage(InputStream imageFileContent, String fileName, String store) {
+        Path temp = null;
+        try {
+            Path folder = Paths.get(store);
+            Files.createDirectories(folder);
+            temp = Files.createTempFile(folder, "upload", ".part");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(imageFileContent, sha256)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String filePath = storedPath(store, sha256.digest(), extensionOf(temp));
+            Path file = Paths.get(filePath);
+            if (Files.exists(file)) {                                   //same picture as one saved before
+                Files.delete(temp);
+                return filePath;
+            }
+            Files.createDirectories(file.getParent());
+            try {
+                Files.move(temp, file);
+            } catch (FileAlreadyExistsException e) {                    //saved by another thread just now, it makes the variants
+                Files.delete(temp);
+                return filePath;
+            }
+            try {
+                ImageVariants.create(filePath);
+            } catch (IOException e) {                                   //everything can still use the original
+                System.err.println("Could not make smaller versions of " + filePath);
+            }
+            return filePath;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            System.err.println("Could not save " + fileName + ".");       //only named for this, the store names it by its content
+            if (temp != null)
+                temp.toFile().delete();
+            return null;
+        }
+    }
+
+    static String storedPath(String store, byte[] digest, String extension) {    //fanned out by the first bytes, so no folder gets huge
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest)
+            hash.append(String.format("%02x", b));
+        return store + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extension;
+    }
+
+    //Read from the file's first bytes rather than its name, so the same picture gets the same extension whether it was
+    //called .jpg, .jpeg or nothing at all. None for anything ImageIO doesn't know, it's read by its content anyway
+    static String extensionOf(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext())
+                return "";
+            String format = readers.next().getFormatName().toLowerCase();
+            if (format.equals("jpeg"))
+                return ".jpg";
+            return format.matches("[a-z0-9]{1,5}") ? "." + format : "";
+        }
+    }
+
+    public static void deleteImage(String filePath) {                   //whether or not anything uses it, see ImageRefs.release
+        if (filePath == null)
+            return;
+        ThumbnailCache.shared().forget(filePath);                       //nothing will show it again
+        ImageVariants.delete(filePath);
+        try {
+            Files.deleteIfExists(Paths.get(filePath));
+        } catch (IOException e) {
+            System.err.println("Could not delete " + filePath);
+        }
+    }
+
+    public static String convertToSafeFileName(String fullPath) {       //makes file name safe (tested on Windows)
+        int indexOfFileName = fullPath.lastIndexOf("/") + 1;
+        String outPath = fullPath.substring(0, indexOfFileName);
+        String fileName = fullPath.substring(indexOfFileName);
+        fileName = fileName.replaceAll("[\\s]", "_")    //spaces and parentheses can break CSS
+                .replaceAll("[()]", "")
+                .replaceAll("[/:*?\"<>|\\\\]", "");     //illegal characters for file name
+
+        if (fileName.isEmpty())                                         //empty is technically legal but an uninspiring default name
+            fileName = "New_File";
+        else if (fileName.length() > 255)                               //max length is either 255 or within 5 chars over it
+            fileName = fileName.substring(0, 255);
+        return outPath + fileName;
+    }
+
+    public static File saveFileChooser(String defaultName) {        //creates a FileChooser in save mode
+        FileChooser fileChooser = getFileChooser();
+        fileChooser.setInitialFileName(ImageUtils.convertToSafeFileName(defaultName));
+        fileChooser.setTitle("Save image");
+        return fileChooser.showSaveDialog(GUIManager.mainStage);
+    }
+
+    public static File openFileChooser() {                          //creates a FileChooser in open mode
+        FileChooser fileChooser = getFileChooser();
+        fileChooser.setTitle("Upload image");
+        return fileChooser.showOpenDialog(GUIManager.mainStage);
+    }
+
+    private static FileChooser getFileChooser() {                   //passes a FileChooser with the formats we support to above methods
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("All Images", "*.jpg", "*.jpeg", "*.png", "*.bmp", "*.gif", "*.wbmp"),
+                new FileChooser.ExtensionFilter("JPG", "*.jpg"), new FileChooser.ExtensionFilter("JPEG", "*.jpeg"),
+                new FileChooser.ExtensionFilter("PNG", "*.png"), new FileChooser.ExtensionFilter("BMP", "*.bmp"),
+                new FileChooser.ExtensionFilter("GIF", "*.gif"), new FileChooser.ExtensionFilter("WBMP", "*.wbmp"));
+
+        return fileChooser;
+    }
+}
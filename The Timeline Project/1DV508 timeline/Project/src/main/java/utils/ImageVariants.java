@@ -0,0 +1,100 @@
+package utils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+//Downscaled copies of a saved image, made once when it's saved so nothing has to decode the full original just to show it
+//small. They sit next to it as <name>_<variant>.<ext>, and since saved images are named after a hash of their content a
+//variant always belongs to the exact image it was made from. Images smaller than a variant don't get that one
+public class ImageVariants {
+    public enum Variant {
+        PREVIEW(600),           //the editors' 300px image box, at up to double pixel density
+        CELL(1920),             //dashboard list cells, as wide as the list
+        FULL(3840);             //the full image popup, nothing shows more than a 4K screen's width
+
+        final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+    }
+
+    public static String pathOf(String original, Variant variant) {
+        int dot = original.lastIndexOf('.');
+        String name = dot > original.lastIndexOf('/') ? original.substring(0, dot) : original;
+        String extension = isJpeg(original) ? original.substring(dot) : ".png";
+        return name + "_" + variant.name().toLowerCase() + extension;
+    }
+
+    public static String pathFor(String original, Variant variant) {
+        return pathFor(original, variant.maxWidth);
+    }
+
+    //The smallest variant at least that wide, or the original if there isn't one, e.g. it's smaller than that already
+    public static String pathFor(String original, int width) {
+        if (original == null)
+            return null;
+        for (Variant variant : Variant.values()) {
+            if (variant.maxWidth < width)
+                continue;
+            String path = pathOf(original, variant);
+            if (Files.exists(Paths.get(path)))
+                return path;
+        }
+        return original;
+    }
+
+    static void create(String original) throws IOException {
+        BufferedImage full = ImageIO.read(new File(original));
+        if (full == null)                                   //a format ImageIO can't read, everything will use the original
+            return;
+
+        BufferedImage scaled = full;
+        Variant[] largestFirst = Variant.values();
+        for (int i = largestFirst.length - 1; i >= 0; i--) {        //each one scaled down from the one above, cheaper and smoother
+            Variant variant = largestFirst[i];
+            if (full.getWidth() <= variant.maxWidth)
+                continue;
+            scaled = scale(scaled, variant.maxWidth, isJpeg(original));
+            ImageIO.write(scaled, isJpeg(original) ? "jpg" : "png", new File(pathOf(original, variant)));
+        }
+    }
+
+    static void delete(String original) {
+        for (Variant variant : Variant.values()) {
+            String path = pathOf(original, variant);
+            try {
+                Files.deleteIfExists(Paths.get(path));
+            } catch (IOException e) {
+                System.err.println("Could not delete " + path);
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, boolean opaque) {   //halves at a time, one big step skips pixels
+        int height = (int) Math.max(Math.round((double) image.getHeight() * width / image.getWidth()), 1);
+        BufferedImage out = image;
+        do {
+            int stepWidth = Math.max(out.getWidth() / 2, width);
+            int stepHeight = Math.max(out.getHeight() / 2, height);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(out, 0, 0, stepWidth, stepHeight, null);
+            g.dispose();
+            out = step;
+        } while (out.getWidth() > width);
+        return out;
+    }
+
+    private static boolean isJpeg(String path) {            //JPEGs stay JPEGs, anything else becomes PNG to keep transparency
+        String lower = path.toLowerCase();
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+    }
+}
@@ -1,71 +1,122 @@
-package utils;
-
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
-import java.util.Base64;
-import java.util.Random;
-//Information on cryptographic passwords : https://tools.ietf.org/html/rfc2898
-
-//Code used from here:
-// https://howtodoinjava.com/security/how-to-generate-secure-password-hash-md5-sha-pbkdf2-bcrypt-examples
-// http://www.appsdeveloperblog.com/encrypt-user-password-example-java/
-public class PasswordEncryption {
-
-    private static final Random SECURE = new SecureRandom();//cryptographically strong random number generator - SecureRandom must produce non-deterministic output.
-    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
-
-
-    //Method to create random salt that is x char long.
-    // Uses secure random class from Java security library to ensure secure, unpredictable randomness
-    public static String getSalt(int length) throws IllegalArgumentException {
-        if (length < 1)
-            throw new IllegalArgumentException("Salt length must be > 0 in length");
-        StringBuilder returnValue = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            returnValue.append(ALPHABET.charAt(SECURE.nextInt(ALPHABET.length())));
-        }
-        return new String(returnValue);
-    }
-
-    //The hash method t
-    public static byte[] hash(char[] password, byte[] salt) {
-        //https://docs.oracle.com/javase/9/docs/api/javax/crypto/spec/PBEKeySpec.html
-        PBEKeySpec spec = new PBEKeySpec(password, salt, 10000, 512); //Create a 512 bi key by hashing 10000 times, making brute-force slow
-        try {
-            //https://docs.oracle.com/javase/7/docs/api/javax/crypto/SecretKeyFactory.html
-            SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512"); //Use PBKDF2 with SHA 512 algorithm to generate byte version of 512 bit long hash
-            return skf.generateSecret(spec).getEncoded(); //SecretKeyObject created form spec and encoded as bits in byte[]
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new AssertionError("Error while hashing a password" + e.getMessage());
-        } finally {
-            spec.clearPassword(); //clear the char array so the password is not retrieved from java memory
-        }
-    }
-
-    //The method that creates the actual encrypted password by hashing the password and salt together
-    public static String generateSecurePassword(String password, String salt) {
-        String returnValue;
-        byte[] securePassword = hash(password.toCharArray(), salt.getBytes());
-        //Using Base64 byte encoding to return the byte array as string, more info https://en.wikipedia.org/wiki/Base64
-        returnValue = Base64.getEncoder().encodeToString(securePassword);//Since using 512 hash, Base64 gives 88 byte long string - less column size needing in the database vs. hex encoding
-
-        return returnValue;
-    }
-
-    //Verify takes given password, generates encrypted password with the users salt from the DB and if the outcome equals
-    // the encrypted password in the DB - then it is legit
-    public static boolean verifyUserPassword(String providedPassword, String securedPassword, String salt) {
-        boolean returnValue;
-
-        // Generate New secure password with the same salt
-        String newSecurePassword = generateSecurePassword(providedPassword, salt);
-
-        // Check if two passwords are equal
-        returnValue = newSecurePassword.equalsIgnoreCase(securedPassword);
-
-        return returnValue;
-    }
-}
+package utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+//Information on cryptographic passwords : https://tools.ietf.org/html/rfc2898
+
+//Code used from here:
+// https://howtodoinjava.com/security/how-to-generate-secure-password-hash-md5-sha-pbkdf2-bcrypt-examples
+// http://www.appsdeveloperblog.com/encrypt-user-password-example-java/
+public class PasswordEncryption {
+
+    private static final Random SECURE = new SecureRandom();//cryptographically strong random number generator - SecureRandom must produce non-deterministic output.
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+
+    //Method to create random salt that is x char long.
+    // Uses secure random class from Java security library to ensure secure, unpredictable randomness
+    public static String getSalt(int length) throws IllegalArgumentException {
+        if (length < 1)
+            throw new IllegalArgumentException("Salt length must be > 0 in length");
+        StringBuilder returnValue = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            returnValue.append(ALPHABET.charAt(SECURE.nextInt(ALPHABET.length())));
+        }
+        return new String(returnValue);
+    }
+
+    //How long a hash takes is what makes guessing passwords slow, so this should be as high as logins can wait for
+    //Calibrate it with PasswordHashBenchmark on the machines logins run on. Passwords stored with another count are
+    //redone with this one on their next login
+    static final int ITERATIONS = 10000;
+    private static final int LEGACY_ITERATIONS = 10000;             //passwords stored without their count were made with this
+    private static final String SEPARATOR = "$";                    //between the count and the hash, not in the Base64 alphabet
+    private static final int HASHING_THREADS = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+    private static final int MAX_WAITING = 32;                      //past that, a burst of logins gets told to try again
+    private static final ThreadPoolExecutor hashers = new ThreadPoolExecutor(HASHING_THREADS, HASHING_THREADS, 0,
+            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_WAITING), r -> {
+        Thread t = new Thread(r, "Password hashing");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final ThreadLocal<SecretKeyFactory> factory = ThreadLocal.withInitial(() -> {   //looked up once per thread, not per hash
+        try {
+            //https://docs.oracle.com/javase/7/docs/api/javax/crypto/SecretKeyFactory.html
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512"); //Use PBKDF2 with SHA 512 algorithm to generate byte version of 512 bit long hash
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("Error while hashing a password" + e.getMessage());
+        }
+    });
+
+    //Runs hashing work, like making a User with a password or checking one, on the hashing threads instead of the
+    //calling one, so the UI doesn't freeze while it runs. Fails with a RejectedExecutionException if too much is waiting
+    public static <T> CompletableFuture<T> async(Supplier<T> hashing) {
+        try {
+            return CompletableFuture.supplyAsync(hashing, hashers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public static byte[] hash(char[] password, byte[] salt) {
+        return hash(password, salt, ITERATIONS);
+    }
+
+    static byte[] hash(char[] password, byte[] salt, int iterations) {
+        //https://docs.oracle.com/javase/9/docs/api/javax/crypto/spec/PBEKeySpec.html
+        PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, 512); //Create a 512 bit key by hashing many times, making brute-force slow
+        try {
+            return factory.get().generateSecret(spec).getEncoded(); //SecretKeyObject created form spec and encoded as bits in byte[]
+        } catch (InvalidKeySpecException e) {
+            throw new AssertionError("Error while hashing a password" + e.getMessage());
+        } finally {
+            spec.clearPassword(); //clear the char array so the password is not retrieved from java memory
+        }
+    }
+
+    //The method that creates the actual encrypted password by hashing the password and salt together
+    //Stored as <iterations>$<hash>, so a different count later on can still check it
+    public static String generateSecurePassword(String password, String salt) {
+        return generateSecurePassword(password, salt, ITERATIONS);
+    }
+
+    static String generateSecurePassword(String password, String salt, int iterations) {
+        byte[] securePassword = hash(password.toCharArray(), salt.getBytes(), iterations);
+        //Using Base64 byte encoding to return the byte array as string, more info https://en.wikipedia.org/wiki/Base64
+        //Since using 512 hash, Base64 gives 88 byte long string - less column size needing in the database vs. hex encoding
+        String encoded = Base64.getEncoder().encodeToString(securePassword);
+        return iterations == LEGACY_ITERATIONS ? encoded : iterations + SEPARATOR + encoded;   //older versions can still read the default
+    }
+
+    //Verify takes given password, generates encrypted password with the users salt from the DB and if the outcome equals
+    // the encrypted password in the DB - then it is legit
+    public static boolean verifyUserPassword(String providedPassword, String securedPassword, String salt) {
+        // Generate New secure password with the same salt and count
+        String newSecurePassword = generateSecurePassword(providedPassword, salt, iterationsOf(securedPassword));
+
+        // Check if two passwords are equal, taking as long wherever they differ so timing doesn't give away how close a guess is
+        return MessageDigest.isEqual(newSecurePassword.getBytes(StandardCharsets.UTF_8), securedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static boolean needsRehash(String securedPassword) {     //made with another count than the current one
+        return iterationsOf(securedPassword) != ITERATIONS;
+    }
+
+    private static int iterationsOf(String securedPassword) {
+        int separator = securedPassword.indexOf(SEPARATOR);
+        return separator < 0 ? LEGACY_ITERATIONS : Integer.parseInt(securedPassword.substring(0, separator));
+    }
+}
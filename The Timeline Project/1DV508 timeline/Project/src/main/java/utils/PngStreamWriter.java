@@ -0,0 +1,129 @@
+package utils;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+//Writes a PNG one row at a time, top to bottom, so an image never has to be in memory all at once like ImageIO needs it
+//Rows go through deflate straight into IDAT chunks of at most CHUNK_SIZE bytes, 8 bit RGBA
+//PNG layout: https://www.w3.org/TR/PNG/#5DataRep
+public class PngStreamWriter implements Closeable {
+    private static final byte[] SIGNATURE = {(byte) 137, 'P', 'N', 'G', '\r', '\n', 26, '\n'};
+    private static final int CHUNK_SIZE = 1 << 16;
+    private final DataOutputStream out;
+    private final int width;
+    private final int height;
+    private final byte[] row;
+    private final byte[] filtered;
+    private final DeflaterOutputStream idat;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private int rowsWritten = 0;
+
+    public PngStreamWriter(OutputStream out, int width, int height) throws IOException {
+        if (width < 1 || height < 1)
+            throw new IllegalArgumentException("PNG must be at least 1x1, was " + width + "x" + height);
+        this.out = new DataOutputStream(out);
+        this.width = width;
+        this.height = height;
+        row = new byte[width * 4];
+        filtered = new byte[width * 4 + 1];
+
+        this.out.write(SIGNATURE);
+        ByteBuffer header = ByteBuffer.allocate(13)
+                .putInt(width)
+                .putInt(height)
+                .put((byte) 8)              //bit depth
+                .put((byte) 6)              //colour type, RGBA
+                .put((byte) 0)              //deflate
+                .put((byte) 0)              //adaptive filtering
+                .put((byte) 0);             //not interlaced
+        writeChunk("IHDR", header.array(), header.capacity());
+
+        idat = new DeflaterOutputStream(new ChunkStream(), deflater, CHUNK_SIZE);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    //Writes the next row from width ints of ARGB, like BufferedImage.TYPE_INT_ARGB holds them
+    public void writeRow(int[] argb, int offset) throws IOException {
+        if (rowsWritten == height)
+            throw new IllegalStateException("All " + height + " rows are already written");
+        for (int x = 0, i = 0; x < width; x++) {
+            int pixel = argb[offset + x];
+            row[i++] = (byte) (pixel >> 16);
+            row[i++] = (byte) (pixel >> 8);
+            row[i++] = (byte) pixel;
+            row[i++] = (byte) (pixel >>> 24);
+        }
+        filtered[0] = 1;                    //"Sub" filter, each byte minus the one a pixel to the left, cheap and flat colours compress well
+        for (int i = 0; i < row.length; i++)
+            filtered[i + 1] = (byte) (row[i] - (i >= 4 ? row[i - 4] : 0));
+        idat.write(filtered);
+        rowsWritten++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (rowsWritten < height)
+            throw new IllegalStateException("Only " + rowsWritten + " of " + height + " rows were written");
+        idat.finish();
+        deflater.end();
+        idat.flush();
+        writeChunk("IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private class ChunkStream extends OutputStream {        //collects compressed bytes into IDAT chunks
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int size = 0;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - size);
+                System.arraycopy(b, off, buffer, size, n);
+                size += n;
+                off += n;
+                len -= n;
+                if (size == buffer.length)
+                    flush();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (size == 0)
+                return;
+            writeChunk("IDAT", buffer, size);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package utils;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+//Images decoded off the FX thread at the size they're shown at, and kept in a least recently used cache keyed by path
+//and size, so list cells scrolling back into view don't decode their image again. Asking for a thumbnail gives a future
+//that cells can show once it completes, with every cell asking for the same one sharing one decode
+//The cache is bounded by total pixels, which is what the memory goes on. Saved images are read from their smallest variant
+//that's wide enough (see ImageVariants), looked for on the decoder thread too since it means checking for files
+public class ThumbnailCache {
+    private static final long MAX_PIXELS = 16_000_000;              //about 64MB of ARGB
+    private static final int MAX_ENTRIES = 1024;                    //failed loads take no pixels but still shouldn't pile up
+    private static final int DECODERS = 2;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);  //in access order, eldest first
+    private final long maxPixels;
+    private final Function<BufferedImage, Image> toImage;
+    private final ThreadPoolExecutor decoders;
+    private long pixels = 0;
+
+    private static class Entry {
+        final CompletableFuture<Image> image = new CompletableFuture<>();
+        long pixels = 0;                                            //counted once decoded
+    }
+
+    private static class Shared {                                   //made on first use, so code that never shows images never starts its threads
+        static final ThumbnailCache INSTANCE = new ThumbnailCache(MAX_PIXELS, DECODERS, image -> SwingFXUtils.toFXImage(image, null));
+    }
+
+    public static ThumbnailCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    ThumbnailCache(long maxPixels, int threads, Function<BufferedImage, Image> toImage) {
+        this.maxPixels = maxPixels;
+        this.toImage = toImage;
+        //Newest requests first, while scrolling the cells on screen asked last and the ones scrolled past can wait
+        decoders = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingDeque<>() {
+            @Override
+            public boolean offer(Runnable r) {
+                return offerFirst(r);
+            }
+        }, r -> {
+            Thread t = new Thread(r, "Thumbnail decoder");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    //The image at the path scaled to the width, keeping its shape, and cut to at most maxHeight around its middle like a
+    //centered background would be. Completes exceptionally if it can't be read. Cached under the original's path, whichever
+    //variant it was read from
+    public CompletableFuture<Image> get(String path, int width, int maxHeight) {
+        String key = key(path, width, maxHeight);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null)
+                return entry.image;
+            entry = new Entry();
+            entries.put(key, entry);
+        }
+
+        Entry decoding = entry;
+        decoders.execute(() -> {
+            String source = ImageVariants.pathFor(path, width);
+            try {
+                BufferedImage thumbnail = decode(new File(source), width, maxHeight);
+                added(decoding, (long) thumbnail.getWidth() * thumbnail.getHeight());
+                decoding.image.complete(toImage.apply(thumbnail));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Could not load image at:" + source);
+                added(decoding, 0);                                 //kept, so a missing file isn't looked for on every scroll
+                decoding.image.completeExceptionally(e);
+            }
+        });
+        return entry.image;
+    }
+
+    public synchronized void forget(String path) {                  //drops every size of the image, for when its file changes
+        entries.entrySet().removeIf(e -> {
+            if (!e.getKey().startsWith(path + "@"))
+                return false;
+            pixels -= e.getValue().pixels;
+            return true;
+        });
+    }
+
+    synchronized long getPixels() {
+        return pixels;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void added(Entry entry, long size) {
+        if (!entries.containsValue(entry))                          //forgotten while it was decoding
+            return;
+        entry.pixels = size;
+        pixels += size;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((pixels > maxPixels || entries.size() > MAX_ENTRIES) && eldest.hasNext()) {
+            Entry e = eldest.next();
+            if (e == entry || !e.image.isDone())                    //keep the one just decoded, and the ones still being decoded
+                continue;
+            pixels -= e.pixels;
+            eldest.remove();
+        }
+    }
+
+    private static String key(String path, int width, int maxHeight) {
+        return path + "@" + width + "x" + maxHeight;
+    }
+
+    //Reads only every nth pixel of the rows that will show, so a big image is never decoded at full size, then scales
+    //that to the exact width
+    static BufferedImage decode(File file, int width, int maxHeight) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file)) {
+            if (in == null)
+                throw new FileNotFoundException(file.getPath());
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext())
+                throw new IOException("Not an image: " + file.getPath());
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int fullWidth = reader.getWidth(0);
+                int fullHeight = reader.getHeight(0);
+                double scale = (double) width / fullWidth;
+                int height = (int) Math.max(Math.min(Math.round(fullHeight * scale), maxHeight), 1);
+                int sourceHeight = (int) Math.min(Math.ceil(height / scale), fullHeight);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(fullWidth / width, 1);                  //still at least as wide as asked for
+                param.setSourceSubsampling(step, step, 0, 0);
+                param.setSourceRegion(new Rectangle(0, (fullHeight - sourceHeight) / 2, fullWidth, sourceHeight));
+                BufferedImage read = reader.read(0, param);
+
+                BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = out.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(read, 0, 0, width, height, null);
+                g.dispose();
+                return out;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -1,208 +1,398 @@
-CREATE TABLE `events`
-(
-    `EventID`            int NOT NULL AUTO_INCREMENT,
-    `EventOwner`         int               DEFAULT 0,
-    `EventPriority`      int NOT NULL,
-    `ImagePath`          nvarchar(5000)    DEFAULT NULL,
-    `EventName`          nvarchar(100)     DEFAULT NULL,
-    `EventDescription`   nvarchar(5000)    DEFAULT NULL,
-    `StartYear`          bigint            DEFAULT NULL,
-    `StartMonth`         tinyint unsigned  DEFAULT NULL,
-    `StartDay`           tinyint unsigned  DEFAULT NULL,
-    `StartHour`          tinyint unsigned  DEFAULT NULL,
-    `StartMinute`        tinyint unsigned  DEFAULT NULL,
-    `StartSecond`        tinyint unsigned  DEFAULT NULL,
-    `StartMillisecond`   smallint unsigned DEFAULT NULL,
-    `EndYear`            bigint            DEFAULT NULL,
-    `EndMonth`           tinyint unsigned  DEFAULT NULL,
-    `EndDay`             tinyint unsigned  DEFAULT NULL,
-    `EndHour`            tinyint unsigned  DEFAULT NULL,
-    `EndMinute`          tinyint unsigned  DEFAULT NULL,
-    `EndSecond`          tinyint unsigned  DEFAULT NULL,
-    `EndMillisecond`     smallint unsigned DEFAULT NULL,
-    `CreatedYear`        bigint            DEFAULT NULL,
-    `CreatedMonth`       tinyint unsigned  DEFAULT NULL,
-    `CreatedDay`         tinyint unsigned  DEFAULT NULL,
-    `CreatedHour`        tinyint unsigned  DEFAULT NULL,
-    `CreatedMinute`      tinyint unsigned  DEFAULT NULL,
-    `CreatedSecond`      tinyint unsigned  DEFAULT NULL,
-    `CreatedMillisecond` smallint unsigned DEFAULT NULL,
-    PRIMARY KEY (`EventID`),
-    UNIQUE KEY `EventID_UNIQUE` (`EventID`)
-) ENGINE = InnoDB
-  DEFAULT CHARSET = utf8mb4
-  COLLATE = utf8mb4_general_ci;
-
-
-CREATE TRIGGER `CreatedDateTimeEvents`
-    BEFORE INSERT
-    ON `events`
-    FOR EACH ROW
-BEGIN
-    if (isnull(new.`CreatedYear`)) then
-        set new.`CreatedYear` = YEAR(NOW());
-        set new.`CreatedMonth` = MONTH(NOW());
-        set new.`CreatedDay` = DAY(NOW());
-        set new.`CreatedHour` = HOUR(NOW());
-        set new.`CreatedMinute` = MINUTE(NOW());
-        set new.`CreatedSecond` = SECOND(NOW());
-        set new.`CreatedMillisecond` = CAST(UNIX_TIMESTAMP(CURTIME(3)) % 1 * 1000 AS unsigned);
-    end if;
-END;
-
-
-CREATE TRIGGER `EndDate`
-    BEFORE INSERT
-    ON `events`
-    FOR EACH ROW
-BEGIN
-    if (isnull(new.`EndYear`)) then
-        set new.`EndYear` = new.StartYear;
-        set new.`EndMonth` = new.StartMonth;
-        set new.`EndDay` = new.StartDay;
-        set new.`EndHour` = new.StartHour;
-        set new.`EndMinute` = new.StartMinute;
-        set new.`EndSecond` = new.StartSecond;
-        set new.`EndMillisecond` = new.StartMillisecond;
-    end if;
-END;
-
-
--- Lookup table for the scale column of timeline table
-CREATE TABLE `scales`
-(
-    `ID`   int          NOT NULL AUTO_INCREMENT,
-    `Unit` nvarchar(20) NOT NULL,
-    PRIMARY KEY (`ID`)
-)
-    ENGINE = InnoDB
-    AUTO_INCREMENT = 9
-    DEFAULT CHARSET = utf8mb4
-    COLLATE = utf8mb4_general_ci;
-
-
-INSERT INTO `scales`
-(`ID`,
- `Unit`)
-VALUES (1, 'Milliseconds'),
-       (2, 'Seconds'),
-       (3, 'Minutes'),
-       (4, 'Hours'),
-       (5, 'Days'),
-       (6, 'Weeks'),
-       (7, 'Months'),
-       (8, 'Years'),
-       (9, 'Decades'),
-       (10, 'Centuries'),
-       (11, 'Millennia');
-
-
-CREATE TABLE `users`
-(
-    `UserID`    int           NOT NULL AUTO_INCREMENT,
-    `UserName`  nvarchar(100) DEFAULT NULL,
-    `UserEmail` nvarchar(100) NOT NULL,
-    `Password`  nvarchar(90)  NOT NULL,
-    `Salt`      nvarchar(30)  NOT NULL,
-    `Admin`     tinyint       DEFAULT '0',
-    `Theme`     nvarchar(20)  DEFAULT 'Default',
-    PRIMARY KEY (`UserID`),
-    UNIQUE KEY `UserID_UNIQUE` (`UserID`),
-    UNIQUE KEY `UserEmail_UNIQUE` (`UserEmail`)
-) ENGINE = InnoDB
-  DEFAULT CHARSET = utf8mb4
-  COLLATE = utf8mb4_general_ci;
-
-
-CREATE TABLE `timelines`
-(
-    `TimelineID`          int               NOT NULL AUTO_INCREMENT,
-    `Scale`               int               DEFAULT 8,
-    `TimelineName`        nvarchar(100)     DEFAULT NULL,
-    `TimelineDescription` nvarchar(5000)    DEFAULT NULL,
-    `ImagePath`           nvarchar(5000)    DEFAULT NULL,
-    `StartYear`           bigint            NOT NULL,
-    `StartMonth`          tinyint unsigned  NOT NULL,
-    `StartDay`            tinyint unsigned  NOT NULL,
-    `StartHour`           tinyint unsigned  NOT NULL,
-    `StartMinute`         tinyint unsigned  NOT NULL,
-    `StartSecond`         tinyint unsigned  NOT NULL,
-    `StartMillisecond`    smallint unsigned NOT NULL,
-    `EndYear`             bigint            DEFAULT NULL,
-    `EndMonth`            tinyint unsigned  DEFAULT NULL,
-    `EndDay`              tinyint unsigned  DEFAULT NULL,
-    `EndHour`             tinyint unsigned  DEFAULT NULL,
-    `EndMinute`           tinyint unsigned  DEFAULT NULL,
-    `EndSecond`           tinyint unsigned  DEFAULT NULL,
-    `EndMillisecond`      smallint unsigned DEFAULT NULL,
-    `CreatedYear`         bigint            DEFAULT NULL,
-    `CreatedMonth`        tinyint unsigned  DEFAULT NULL,
-    `CreatedDay`          tinyint unsigned  DEFAULT NULL,
-    `CreatedHour`         tinyint unsigned  DEFAULT NULL,
-    `CreatedMinute`       tinyint unsigned  DEFAULT NULL,
-    `CreatedSecond`       tinyint unsigned  DEFAULT NULL,
-    `CreatedMillisecond`  smallint unsigned DEFAULT NULL,
-    `TimelineOwner`       int               NOT NULL,
-    `Keywords`            varchar(1000)     DEFAULT NULL,
-    PRIMARY KEY (`TimelineID`),
-    UNIQUE KEY `TimelineID_UNIQUE` (`TimelineID`)
-) ENGINE = InnoDB
-  DEFAULT CHARSET = utf8mb4
-  COLLATE = utf8mb4_general_ci;
-
-
-CREATE TABLE `timelineevents`
-(
-    TimelineID int NOT NULL,
-    EventID    int NOT NULL,
-    CONSTRAINT pK_timelinesevent PRIMARY KEY (eventID, timelineID),
-    CONSTRAINT fk_timelineevents_events1
-        FOREIGN KEY (EventID)
-            REFERENCES events (EventID)
-            ON DELETE CASCADE,
-    CONSTRAINT fk_timelineevents_timelines
-        FOREIGN KEY (TimelineID)
-            REFERENCES timelines (TimelineID)
-            ON DELETE CASCADE
-);
-
-
-CREATE TRIGGER `CreatedDateTime`
-    BEFORE INSERT
-    ON `timelines`
-    FOR EACH ROW
-BEGIN
-    if (isnull(new.`CreatedYear`)) then
-        set new.`CreatedYear` = YEAR(NOW());
-        set new.`CreatedMonth` = MONTH(NOW());
-        set new.`CreatedDay` = DAY(NOW());
-        set new.`CreatedHour` = HOUR(NOW());
-        set new.`CreatedMinute` = MINUTE(NOW());
-        set new.`CreatedSecond` = SECOND(NOW());
-        set new.`CreatedMillisecond` = CAST(UNIX_TIMESTAMP(CURTIME(3)) % 1 * 1000 AS unsigned);
-    end if;
-END;
-
-
-CREATE TABLE `ratings`
-(
-    `UserID`     int NOT NULL,
-    `TimeLineID` int NOT NULL,
-    `Rating`     int NOT NULL,
-    KEY `UserID_idx` (`UserID`),
-    KEY `TimeLineID_idx` (`TimeLineID`),
-    CONSTRAINT `TimeLineID` FOREIGN KEY (`TimeLineID`) REFERENCES `timelines` (`TimelineID`) ON DELETE CASCADE,
-    CONSTRAINT `UserID` FOREIGN KEY (`UserID`) REFERENCES `users` (`UserID`) ON DELETE CASCADE
-) ENGINE = InnoDB
-  DEFAULT CHARSET = utf8mb4
-  COLLATE = utf8mb4_general_ci;
-
-
-INSERT INTO `users`
-(`UserID`, `UserName`, `UserEmail`, `Password`, `Salt`, `Admin`, `Theme`)
-VALUES ('1', 'Admin', 'Admin@gmail.com',
-        'FPUpkk14h2EWAX9J7q18Ue6QJ/VSrs5ulnaw/Tggo23smYvqcLKihIUARNQcxUpDSGXOGBsGo4gjKTikDfrpxw==',
-        'hXEFj6Yy9hanXVOUyACANrUi1eZs4f', '1', 'Default'),
-       ('2', 'NonAdmin', 'NonAdmin@gmail.com',
-        'bXKyPFQD//MW1XtOlVrgEDvEXIm9xzT+z4wBrMKR7DTHeETUPFlYpcuvanM/I2dPZSa5fQEnKc4E2D6ZD7sOiA==',
+-- Packs a date into one sortable number, year * 10^13 + MMddHHmmssSSS, wide enough for the +-999999999 years the UI allows
+-- Kept in the *Key columns so date ranges and sorting can use indexes, must match DateUtils.sortKey
+CREATE FUNCTION `SortKey`(year bigint, month int, day int, hour int, minute int, second int, millisecond int)
+    RETURNS decimal(23, 0)
+    DETERMINISTIC
+    NO SQL
+    RETURN CAST(year AS decimal(23, 0)) * 10000000000000 + month * 100000000000 + day * 1000000000 + hour * 10000000
+        + minute * 100000 + second * 1000 + millisecond;
+
+
+CREATE TABLE `events`
+(
+    `EventID`            int NOT NULL AUTO_INCREMENT,
+    `EventOwner`         int               DEFAULT 0,
+    `EventPriority`      int NOT NULL,
+    `ImagePath`          nvarchar(5000)    DEFAULT NULL,
+    `EventName`          nvarchar(100)     DEFAULT NULL,
+    `EventDescription`   nvarchar(5000)    DEFAULT NULL,
+    `StartYear`          bigint            DEFAULT NULL,
+    `StartMonth`         tinyint unsigned  DEFAULT NULL,
+    `StartDay`           tinyint unsigned  DEFAULT NULL,
+    `StartHour`          tinyint unsigned  DEFAULT NULL,
+    `StartMinute`        tinyint unsigned  DEFAULT NULL,
+    `StartSecond`        tinyint unsigned  DEFAULT NULL,
+    `StartMillisecond`   smallint unsigned DEFAULT NULL,
+    `EndYear`            bigint            DEFAULT NULL,
+    `EndMonth`           tinyint unsigned  DEFAULT NULL,
+    `EndDay`             tinyint unsigned  DEFAULT NULL,
+    `EndHour`            tinyint unsigned  DEFAULT NULL,
+    `EndMinute`          tinyint unsigned  DEFAULT NULL,
+    `EndSecond`          tinyint unsigned  DEFAULT NULL,
+    `EndMillisecond`     smallint unsigned DEFAULT NULL,
+    `CreatedYear`        bigint            DEFAULT NULL,
+    `CreatedMonth`       tinyint unsigned  DEFAULT NULL,
+    `CreatedDay`         tinyint unsigned  DEFAULT NULL,
+    `CreatedHour`        tinyint unsigned  DEFAULT NULL,
+    `CreatedMinute`      tinyint unsigned  DEFAULT NULL,
+    `CreatedSecond`      tinyint unsigned  DEFAULT NULL,
+    `CreatedMillisecond` smallint unsigned DEFAULT NULL,
+    `StartKey`           decimal(23, 0)    DEFAULT NULL,
+    `EndKey`             decimal(23, 0)    DEFAULT NULL,
+    `CreatedKey`         decimal(23, 0)    DEFAULT NULL,
+    PRIMARY KEY (`EventID`),
+    UNIQUE KEY `EventID_UNIQUE` (`EventID`),
+    KEY `StartKey_idx` (`StartKey`, `EndKey`),
+    KEY `EndKey_idx` (`EndKey`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+
+CREATE TRIGGER `CreatedDateTimeEvents`
+    BEFORE INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`CreatedYear`)) then
+        set new.`CreatedYear` = YEAR(NOW());
+        set new.`CreatedMonth` = MONTH(NOW());
+        set new.`CreatedDay` = DAY(NOW());
+        set new.`CreatedHour` = HOUR(NOW());
+        set new.`CreatedMinute` = MINUTE(NOW());
+        set new.`CreatedSecond` = SECOND(NOW());
+        set new.`CreatedMillisecond` = CAST(UNIX_TIMESTAMP(CURTIME(3)) % 1 * 1000 AS unsigned);
+    end if;
+END;
+
+
+CREATE TRIGGER `EndDate`
+    BEFORE INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`EndYear`)) then
+        set new.`EndYear` = new.StartYear;
+        set new.`EndMonth` = new.StartMonth;
+        set new.`EndDay` = new.StartDay;
+        set new.`EndHour` = new.StartHour;
+        set new.`EndMinute` = new.StartMinute;
+        set new.`EndSecond` = new.StartSecond;
+        set new.`EndMillisecond` = new.StartMillisecond;
+    end if;
+END;
+
+
+-- Runs after the triggers above, so it sees the filled in end and created dates
+CREATE TRIGGER `SortKeysEvents`
+    BEFORE INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`StartKey`)) then
+        set new.`StartKey` = SortKey(new.StartYear, new.StartMonth, new.StartDay, new.StartHour, new.StartMinute,
+                                     new.StartSecond, new.StartMillisecond);
+    end if;
+    if (isnull(new.`EndKey`)) then
+        set new.`EndKey` = SortKey(new.EndYear, new.EndMonth, new.EndDay, new.EndHour, new.EndMinute,
+                                   new.EndSecond, new.EndMillisecond);
+    end if;
+    set new.`CreatedKey` = SortKey(new.CreatedYear, new.CreatedMonth, new.CreatedDay, new.CreatedHour,
+                                   new.CreatedMinute, new.CreatedSecond, new.CreatedMillisecond);
+END;
+
+
+-- Lookup table for the scale column of timeline table
+CREATE TABLE `scales`
+(
+    `ID`   int          NOT NULL AUTO_INCREMENT,
+    `Unit` nvarchar(20) NOT NULL,
+    PRIMARY KEY (`ID`)
+)
+    ENGINE = InnoDB
+    AUTO_INCREMENT = 9
+    DEFAULT CHARSET = utf8mb4
+    COLLATE = utf8mb4_general_ci;
+
+
+INSERT INTO `scales`
+(`ID`,
+ `Unit`)
+VALUES (1, 'Milliseconds'),
+       (2, 'Seconds'),
+       (3, 'Minutes'),
+       (4, 'Hours'),
+       (5, 'Days'),
+       (6, 'Weeks'),
+       (7, 'Months'),
+       (8, 'Years'),
+       (9, 'Decades'),
+       (10, 'Centuries'),
+       (11, 'Millennia');
+
+
+CREATE TABLE `users`
+(
+    `UserID`    int           NOT NULL AUTO_INCREMENT,
+    `UserName`  nvarchar(100) DEFAULT NULL,
+    `UserEmail` nvarchar(100) NOT NULL,
+    `Password`  nvarchar(100) NOT NULL,                        -- <iterations>$ and 88 chars of Base64
+    `Salt`      nvarchar(30)  NOT NULL,
+    `Admin`     tinyint       DEFAULT '0',
+    `Theme`     nvarchar(20)  DEFAULT 'Default',
+    PRIMARY KEY (`UserID`),
+    UNIQUE KEY `UserID_UNIQUE` (`UserID`),
+    UNIQUE KEY `UserEmail_UNIQUE` (`UserEmail`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+
+CREATE TABLE `timelines`
+(
+    `TimelineID`          int               NOT NULL AUTO_INCREMENT,
+    `Scale`               int               DEFAULT 8,
+    `TimelineName`        nvarchar(100)     DEFAULT NULL,
+    `TimelineDescription` nvarchar(5000)    DEFAULT NULL,
+    `ImagePath`           nvarchar(5000)    DEFAULT NULL,
+    `StartYear`           bigint            NOT NULL,
+    `StartMonth`          tinyint unsigned  NOT NULL,
+    `StartDay`            tinyint unsigned  NOT NULL,
+    `StartHour`           tinyint unsigned  NOT NULL,
+    `StartMinute`         tinyint unsigned  NOT NULL,
+    `StartSecond`         tinyint unsigned  NOT NULL,
+    `StartMillisecond`    smallint unsigned NOT NULL,
+    `EndYear`             bigint            DEFAULT NULL,
+    `EndMonth`            tinyint unsigned  DEFAULT NULL,
+    `EndDay`              tinyint unsigned  DEFAULT NULL,
+    `EndHour`             tinyint unsigned  DEFAULT NULL,
+    `EndMinute`           tinyint unsigned  DEFAULT NULL,
+    `EndSecond`           tinyint unsigned  DEFAULT NULL,
+    `EndMillisecond`      smallint unsigned DEFAULT NULL,
+    `CreatedYear`         bigint            DEFAULT NULL,
+    `CreatedMonth`        tinyint unsigned  DEFAULT NULL,
+    `CreatedDay`          tinyint unsigned  DEFAULT NULL,
+    `CreatedHour`         tinyint unsigned  DEFAULT NULL,
+    `CreatedMinute`       tinyint unsigned  DEFAULT NULL,
+    `CreatedSecond`       tinyint unsigned  DEFAULT NULL,
+    `CreatedMillisecond`  smallint unsigned DEFAULT NULL,
+    `StartKey`            decimal(23, 0)    DEFAULT NULL,
+    `EndKey`              decimal(23, 0)    DEFAULT NULL,
+    `CreatedKey`          decimal(23, 0)    DEFAULT NULL,
+    `RatingSum`           int               NOT NULL DEFAULT 0,
+    `RatingCount`         int               NOT NULL DEFAULT 0,
+    `TimelineOwner`       int               NOT NULL,
+    `Keywords`            varchar(1000)     DEFAULT NULL,
+    PRIMARY KEY (`TimelineID`),
+    UNIQUE KEY `TimelineID_UNIQUE` (`TimelineID`),
+    KEY `StartKey_idx` (`StartKey`, `EndKey`),
+    KEY `EndKey_idx` (`EndKey`),
+    KEY `CreatedKey_idx` (`CreatedKey`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+
+CREATE TABLE `timelineevents`
+(
+    TimelineID int NOT NULL,
+    EventID    int NOT NULL,
+    CONSTRAINT pK_timelinesevent PRIMARY KEY (eventID, timelineID),
+    KEY TimelineID_idx (TimelineID, EventID),                  -- a timeline's events, the primary key covers an event's timelines
+    CONSTRAINT fk_timelineevents_events1
+        FOREIGN KEY (EventID)
+            REFERENCES events (EventID)
+            ON DELETE CASCADE,
+    CONSTRAINT fk_timelineevents_timelines
+        FOREIGN KEY (TimelineID)
+            REFERENCES timelines (TimelineID)
+            ON DELETE CASCADE
+);
+
+
+CREATE TRIGGER `CreatedDateTime`
+    BEFORE INSERT
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`CreatedYear`)) then
+        set new.`CreatedYear` = YEAR(NOW());
+        set new.`CreatedMonth` = MONTH(NOW());
+        set new.`CreatedDay` = DAY(NOW());
+        set new.`CreatedHour` = HOUR(NOW());
+        set new.`CreatedMinute` = MINUTE(NOW());
+        set new.`CreatedSecond` = SECOND(NOW());
+        set new.`CreatedMillisecond` = CAST(UNIX_TIMESTAMP(CURTIME(3)) % 1 * 1000 AS unsigned);
+    end if;
+END;
+
+
+CREATE TRIGGER `SortKeysTimelines`
+    BEFORE INSERT
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`StartKey`)) then
+        set new.`StartKey` = SortKey(new.StartYear, new.StartMonth, new.StartDay, new.StartHour, new.StartMinute,
+                                     new.StartSecond, new.StartMillisecond);
+    end if;
+    if (isnull(new.`EndKey`)) then
+        set new.`EndKey` = SortKey(new.EndYear, new.EndMonth, new.EndDay, new.EndHour, new.EndMinute,
+                                   new.EndSecond, new.EndMillisecond);
+    end if;
+    set new.`CreatedKey` = SortKey(new.CreatedYear, new.CreatedMonth, new.CreatedDay, new.CreatedHour,
+                                   new.CreatedMinute, new.CreatedSecond, new.CreatedMillisecond);
+END;
+
+
+CREATE TABLE `ratings`
+(
+    `UserID`     int NOT NULL,
+    `TimeLineID` int NOT NULL,
+    `Rating`     int NOT NULL,
+    PRIMARY KEY (`TimeLineID`, `UserID`),                       -- one rating per user, also serves a timeline's ratings
+    KEY `UserID_idx` (`UserID`),
+    CONSTRAINT `TimeLineID` FOREIGN KEY (`TimeLineID`) REFERENCES `timelines` (`TimelineID`) ON DELETE CASCADE,
+    CONSTRAINT `UserID` FOREIGN KEY (`UserID`) REFERENCES `users` (`UserID`) ON DELETE CASCADE
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_general_ci;
+
+
+-- Keeps each timeline's RatingSum and RatingCount in step with its ratings, in the same transaction as the rating change
+CREATE TRIGGER `RatingTotalsInsert`
+    AFTER INSERT
+    ON `ratings`
+    FOR EACH ROW
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` + new.`Rating`,
+        `RatingCount` = `RatingCount` + 1
+    WHERE `TimelineID` = new.`TimeLineID`;
+
+
+CREATE TRIGGER `RatingTotalsUpdate`
+    AFTER UPDATE
+    ON `ratings`
+    FOR EACH ROW
+BEGIN
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` - old.`Rating`,
+        `RatingCount` = `RatingCount` - 1
+    WHERE `TimelineID` = old.`TimeLineID`;
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` + new.`Rating`,
+        `RatingCount` = `RatingCount` + 1
+    WHERE `TimelineID` = new.`TimeLineID`;
+END;
+
+
+CREATE TRIGGER `RatingTotalsDelete`
+    AFTER DELETE
+    ON `ratings`
+    FOR EACH ROW
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` - old.`Rating`,
+        `RatingCount` = `RatingCount` - 1
+    WHERE `TimelineID` = old.`TimeLineID`;
+
+
+-- Foreign key cascades don't fire triggers, so a deleted user's ratings are taken off the totals before they cascade away
+CREATE TRIGGER `RatingTotalsDeleteUser`
+    BEFORE DELETE
+    ON `users`
+    FOR EACH ROW
+    UPDATE `timelines` t INNER JOIN `ratings` r ON t.TimelineID = r.TimeLineID
+    SET t.`RatingSum`   = t.`RatingSum` - r.`Rating`,
+        t.`RatingCount` = t.`RatingCount` - 1
+    WHERE r.`UserID` = old.`UserID`;
+
+
+-- How many events and timelines use each saved image. Images are stored once per picture and shared, so a file is only
+-- deleted once its count is back to zero, see ImageRefs. Binary collation since paths are case sensitive on most systems
+CREATE TABLE `images`
+(
+    `ImagePath` varchar(700) NOT NULL,
+    `Refs`      int          NOT NULL DEFAULT 0,
+    PRIMARY KEY (`ImagePath`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_bin;
+
+
+-- Keeps the image counts in step with the events and timelines using them, in the same transaction as the change
+CREATE TRIGGER `ImageRefsInsertEvents`
+    AFTER INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (new.`ImagePath` IS NOT NULL) then
+        INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsUpdateEvents`
+    AFTER UPDATE
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (NOT old.`ImagePath` <=> new.`ImagePath`) then
+        UPDATE `images` SET `Refs` = `Refs` - 1 WHERE `ImagePath` = old.`ImagePath`;
+        if (new.`ImagePath` IS NOT NULL) then
+            INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+        end if;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsDeleteEvents`
+    AFTER DELETE
+    ON `events`
+    FOR EACH ROW
+    UPDATE `images`
+    SET `Refs` = `Refs` - 1
+    WHERE `ImagePath` = old.`ImagePath`;
+
+
+CREATE TRIGGER `ImageRefsInsertTimelines`
+    AFTER INSERT
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (new.`ImagePath` IS NOT NULL) then
+        INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsUpdateTimelines`
+    AFTER UPDATE
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (NOT old.`ImagePath` <=> new.`ImagePath`) then
+        UPDATE `images` SET `Refs` = `Refs` - 1 WHERE `ImagePath` = old.`ImagePath`;
+        if (new.`ImagePath` IS NOT NULL) then
+            INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+        end if;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsDeleteTimelines`
+    AFTER DELETE
+    ON `timelines`
+    FOR EACH ROW
+    UPDATE `images`
+    SET `Refs` = `Refs` - 1
+    WHERE `ImagePath` = old.`ImagePath`;
+
+
+INSERT INTO `users`
+(`UserID`, `UserName`, `UserEmail`, `Password`, `Salt`, `Admin`, `Theme`)
+VALUES ('1', 'Admin', 'Admin@gmail.com',
+        'FPUpkk14h2EWAX9J7q18Ue6QJ/VSrs5ulnaw/Tggo23smYvqcLKihIUARNQcxUpDSGXOGBsGo4gjKTikDfrpxw==',
+        'hXEFj6Yy9hanXVOUyACANrUi1eZs4f', '1', 'Default'),
+       ('2', 'NonAdmin', 'NonAdmin@gmail.com',
+        'bXKyPFQD//MW1XtOlVrgEDvEXIm9xzT+z4wBrMKR7DTHeETUPFlYpcuvanM/I2dPZSa5fQEnKc4E2D6ZD7sOiA==',
         'Q48XUaFIG4LITasAYZzSNUHskubTw5', '0', 'Default');
\ No newline at end of file
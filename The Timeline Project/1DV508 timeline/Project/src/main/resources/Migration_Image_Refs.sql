@@ -0,0 +1,86 @@
+-- Adds the image counts to databases made before images were shared, run by DBM.setupIfNeeded when missing
+-- Binary collation since paths are case sensitive on most systems
+CREATE TABLE `images`
+(
+    `ImagePath` varchar(700) NOT NULL,
+    `Refs`      int          NOT NULL DEFAULT 0,
+    PRIMARY KEY (`ImagePath`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_bin;
+
+
+INSERT INTO `images` (`ImagePath`, `Refs`)
+SELECT `ImagePath`, COUNT(*)
+FROM (SELECT `ImagePath` FROM `events` UNION ALL SELECT `ImagePath` FROM `timelines`) used
+WHERE `ImagePath` IS NOT NULL
+GROUP BY `ImagePath`;
+
+
+-- Keeps the image counts in step with the events and timelines using them, in the same transaction as the change
+CREATE TRIGGER `ImageRefsInsertEvents`
+    AFTER INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (new.`ImagePath` IS NOT NULL) then
+        INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsUpdateEvents`
+    AFTER UPDATE
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (NOT old.`ImagePath` <=> new.`ImagePath`) then
+        UPDATE `images` SET `Refs` = `Refs` - 1 WHERE `ImagePath` = old.`ImagePath`;
+        if (new.`ImagePath` IS NOT NULL) then
+            INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+        end if;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsDeleteEvents`
+    AFTER DELETE
+    ON `events`
+    FOR EACH ROW
+    UPDATE `images`
+    SET `Refs` = `Refs` - 1
+    WHERE `ImagePath` = old.`ImagePath`;
+
+
+CREATE TRIGGER `ImageRefsInsertTimelines`
+    AFTER INSERT
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (new.`ImagePath` IS NOT NULL) then
+        INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsUpdateTimelines`
+    AFTER UPDATE
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (NOT old.`ImagePath` <=> new.`ImagePath`) then
+        UPDATE `images` SET `Refs` = `Refs` - 1 WHERE `ImagePath` = old.`ImagePath`;
+        if (new.`ImagePath` IS NOT NULL) then
+            INSERT INTO `images` (`ImagePath`, `Refs`) VALUES (new.`ImagePath`, 1) ON DUPLICATE KEY UPDATE `Refs` = `Refs` + 1;
+        end if;
+    end if;
+END;
+
+
+CREATE TRIGGER `ImageRefsDeleteTimelines`
+    AFTER DELETE
+    ON `timelines`
+    FOR EACH ROW
+    UPDATE `images`
+    SET `Refs` = `Refs` - 1
+    WHERE `ImagePath` = old.`ImagePath`;
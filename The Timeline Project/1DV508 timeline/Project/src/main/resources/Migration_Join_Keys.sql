@@ -0,0 +1,32 @@
+-- Adds the join table keys to databases made before they existed, run by DBM.firstTimeSetup when missing
+-- Duplicate ratings can't be told apart by age, so the highest of each user's ratings for a timeline is kept
+CREATE TEMPORARY TABLE `ratings_kept`
+SELECT `UserID`, `TimeLineID`, MAX(`Rating`) AS `Rating`
+FROM `ratings`
+GROUP BY `UserID`, `TimeLineID`
+HAVING COUNT(*) > 1;
+
+
+DELETE r
+FROM `ratings` r
+         INNER JOIN `ratings_kept` k ON r.UserID = k.UserID AND r.TimeLineID = k.TimeLineID;
+
+
+INSERT INTO `ratings` (`UserID`, `TimeLineID`, `Rating`)
+SELECT `UserID`, `TimeLineID`, `Rating`
+FROM `ratings_kept`;
+
+
+DROP TEMPORARY TABLE `ratings_kept`;
+
+
+ALTER TABLE `ratings`
+    ADD PRIMARY KEY (`TimeLineID`, `UserID`);
+
+
+ALTER TABLE `ratings`
+    DROP KEY `TimeLineID_idx`;
+
+
+ALTER TABLE `timelineevents`
+    ADD KEY `TimelineID_idx` (`TimelineID`, `EventID`);
@@ -0,0 +1,4 @@
+-- Makes room for the iteration count stored in front of password hashes made with a count other than the original one
+-- Run by DBM.setupIfNeeded when the column is still the old size
+ALTER TABLE `users`
+    MODIFY COLUMN `Password` nvarchar(100) NOT NULL;
@@ -0,0 +1,59 @@
+-- Adds the materialised rating totals to databases made before they existed, run by DBM.firstTimeSetup when missing
+ALTER TABLE `timelines`
+    ADD COLUMN `RatingSum`   int NOT NULL DEFAULT 0 AFTER `CreatedKey`,
+    ADD COLUMN `RatingCount` int NOT NULL DEFAULT 0 AFTER `RatingSum`;
+
+
+UPDATE `timelines` t INNER JOIN (SELECT `TimeLineID`, SUM(`Rating`) AS `Total`, COUNT(*) AS `Number`
+                                 FROM `ratings`
+                                 GROUP BY `TimeLineID`) r ON t.TimelineID = r.TimeLineID
+SET t.`RatingSum`   = r.`Total`,
+    t.`RatingCount` = r.`Number`;
+
+
+-- Keeps each timeline's RatingSum and RatingCount in step with its ratings, in the same transaction as the rating change
+CREATE TRIGGER `RatingTotalsInsert`
+    AFTER INSERT
+    ON `ratings`
+    FOR EACH ROW
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` + new.`Rating`,
+        `RatingCount` = `RatingCount` + 1
+    WHERE `TimelineID` = new.`TimeLineID`;
+
+
+CREATE TRIGGER `RatingTotalsUpdate`
+    AFTER UPDATE
+    ON `ratings`
+    FOR EACH ROW
+BEGIN
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` - old.`Rating`,
+        `RatingCount` = `RatingCount` - 1
+    WHERE `TimelineID` = old.`TimeLineID`;
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` + new.`Rating`,
+        `RatingCount` = `RatingCount` + 1
+    WHERE `TimelineID` = new.`TimeLineID`;
+END;
+
+
+CREATE TRIGGER `RatingTotalsDelete`
+    AFTER DELETE
+    ON `ratings`
+    FOR EACH ROW
+    UPDATE `timelines`
+    SET `RatingSum`   = `RatingSum` - old.`Rating`,
+        `RatingCount` = `RatingCount` - 1
+    WHERE `TimelineID` = old.`TimeLineID`;
+
+
+-- Foreign key cascades don't fire triggers, so a deleted user's ratings are taken off the totals before they cascade away
+CREATE TRIGGER `RatingTotalsDeleteUser`
+    BEFORE DELETE
+    ON `users`
+    FOR EACH ROW
+    UPDATE `timelines` t INNER JOIN `ratings` r ON t.TimelineID = r.TimeLineID
+    SET t.`RatingSum`   = t.`RatingSum` - r.`Rating`,
+        t.`RatingCount` = t.`RatingCount` - 1
+    WHERE r.`UserID` = old.`UserID`;
@@ -0,0 +1,81 @@
+-- Adds the packed, sortable date columns to databases made before they existed, run by DBM.firstTimeSetup when missing
+DROP FUNCTION IF EXISTS `SortKey`;
+
+
+CREATE FUNCTION `SortKey`(year bigint, month int, day int, hour int, minute int, second int, millisecond int)
+    RETURNS decimal(23, 0)
+    DETERMINISTIC
+    NO SQL
+    RETURN CAST(year AS decimal(23, 0)) * 10000000000000 + month * 100000000000 + day * 1000000000 + hour * 10000000
+        + minute * 100000 + second * 1000 + millisecond;
+
+
+ALTER TABLE `events`
+    ADD COLUMN `StartKey`   decimal(23, 0) DEFAULT NULL,
+    ADD COLUMN `EndKey`     decimal(23, 0) DEFAULT NULL,
+    ADD COLUMN `CreatedKey` decimal(23, 0) DEFAULT NULL;
+
+
+UPDATE `events`
+SET `StartKey`   = SortKey(StartYear, StartMonth, StartDay, StartHour, StartMinute, StartSecond, StartMillisecond),
+    `EndKey`     = SortKey(EndYear, EndMonth, EndDay, EndHour, EndMinute, EndSecond, EndMillisecond),
+    `CreatedKey` = SortKey(CreatedYear, CreatedMonth, CreatedDay, CreatedHour, CreatedMinute, CreatedSecond, CreatedMillisecond);
+
+
+ALTER TABLE `events`
+    ADD KEY `StartKey_idx` (`StartKey`, `EndKey`),
+    ADD KEY `EndKey_idx` (`EndKey`);
+
+
+ALTER TABLE `timelines`
+    ADD COLUMN `StartKey`   decimal(23, 0) DEFAULT NULL AFTER `CreatedMillisecond`,
+    ADD COLUMN `EndKey`     decimal(23, 0) DEFAULT NULL AFTER `StartKey`,
+    ADD COLUMN `CreatedKey` decimal(23, 0) DEFAULT NULL AFTER `EndKey`;
+
+
+UPDATE `timelines`
+SET `StartKey`   = SortKey(StartYear, StartMonth, StartDay, StartHour, StartMinute, StartSecond, StartMillisecond),
+    `EndKey`     = SortKey(EndYear, EndMonth, EndDay, EndHour, EndMinute, EndSecond, EndMillisecond),
+    `CreatedKey` = SortKey(CreatedYear, CreatedMonth, CreatedDay, CreatedHour, CreatedMinute, CreatedSecond, CreatedMillisecond);
+
+
+ALTER TABLE `timelines`
+    ADD KEY `StartKey_idx` (`StartKey`, `EndKey`),
+    ADD KEY `EndKey_idx` (`EndKey`),
+    ADD KEY `CreatedKey_idx` (`CreatedKey`);
+
+
+CREATE TRIGGER `SortKeysEvents`
+    BEFORE INSERT
+    ON `events`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`StartKey`)) then
+        set new.`StartKey` = SortKey(new.StartYear, new.StartMonth, new.StartDay, new.StartHour, new.StartMinute,
+                                     new.StartSecond, new.StartMillisecond);
+    end if;
+    if (isnull(new.`EndKey`)) then
+        set new.`EndKey` = SortKey(new.EndYear, new.EndMonth, new.EndDay, new.EndHour, new.EndMinute,
+                                   new.EndSecond, new.EndMillisecond);
+    end if;
+    set new.`CreatedKey` = SortKey(new.CreatedYear, new.CreatedMonth, new.CreatedDay, new.CreatedHour,
+                                   new.CreatedMinute, new.CreatedSecond, new.CreatedMillisecond);
+END;
+
+
+CREATE TRIGGER `SortKeysTimelines`
+    BEFORE INSERT
+    ON `timelines`
+    FOR EACH ROW
+BEGIN
+    if (isnull(new.`StartKey`)) then
+        set new.`StartKey` = SortKey(new.StartYear, new.StartMonth, new.StartDay, new.StartHour, new.StartMinute,
+                                     new.StartSecond, new.StartMillisecond);
+    end if;
+    if (isnull(new.`EndKey`)) then
+        set new.`EndKey` = SortKey(new.EndYear, new.EndMonth, new.EndDay, new.EndHour, new.EndMinute,
+                                   new.EndSecond, new.EndMillisecond);
+    end if;
+    set new.`CreatedKey` = SortKey(new.CreatedYear, new.CreatedMonth, new.CreatedDay, new.CreatedHour,
+                                   new.CreatedMinute, new.CreatedSecond, new.CreatedMillisecond);
+END;
@@ -0,0 +1,79 @@
+package controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventClustersTest {
+    static private int testCount = 0;
+    List<EventPlacement> placed;
+    EventClusters sut;
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+
+        Random random = new Random(7);
+        placed = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            EventPlacement p = new EventPlacement();
+            p.setStartColumn(random.nextInt(4) == 0 ? random.nextInt(100_000) : 500 + random.nextInt(50));   //one dense spot
+            p.setColumnSpan(1);
+            placed.add(p);
+        }
+        sut = new EventClusters(placed);
+    }
+
+    @Test
+    void everyLevelCountsEveryEvent() {
+        for (int level = 0; level < sut.levelCount(); level++) {
+            int total = 0;
+            for (int i = 0; i < sut.size(level); i++) {
+                long start = sut.startColumn(level, i);
+                long width = sut.columnWidth(level);
+                long inStretch = placed.stream().filter(p -> p.getStartColumn() >= start && p.getStartColumn() < start + width).count();
+                assertEquals(inStretch, sut.count(level, i));
+                total += sut.count(level, i);
+            }
+            assertEquals(placed.size(), total);
+        }
+        assertEquals(1, sut.size(sut.levelCount() - 1));
+    }
+
+    @Test
+    void singleEventStretchKeepsItsEvent() {
+        EventPlacement alone = new EventPlacement();
+        alone.setStartColumn(1_000_000);
+        placed.add(alone);
+        sut = new EventClusters(placed);
+
+        int i = sut.firstAtOrAfter(0, 1_000_000);
+        assertEquals(1, sut.count(0, i));
+        assertSame(alone, sut.first(0, i));
+    }
+
+    @Test
+    void levelIsWideEnoughOnScreen() {
+        int level = sut.levelFor(.07, 28);
+        assertTrue(sut.columnWidth(level) * .07 >= 28);
+        assertTrue(sut.columnWidth(level - 1) * .07 < 28);
+        assertEquals(0, sut.levelFor(70, 28));
+    }
+
+    @Test
+    void firstAtOrAfterSkipsStretchesBeforeTheColumn() {
+        for (int level = 0; level < sut.levelCount(); level++) {
+            int i = sut.firstAtOrAfter(level, 600.5);
+            assertTrue(i == sut.size(level) || sut.startColumn(level, i) + sut.columnWidth(level) > 600.5);
+            assertTrue(i == 0 || sut.startColumn(level, i - 1) + sut.columnWidth(level) <= 600.5);
+        }
+    }
+}
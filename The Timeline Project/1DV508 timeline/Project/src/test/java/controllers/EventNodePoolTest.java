@@ -0,0 +1,76 @@
+package controllers;
+
+import database.Event;
+import database.Timeline;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class EventNodePoolTest {
+    static private int testCount = 0;
+    EventNodePool sut;
+    Timeline timeline;
+
+    @Start
+    public void start(Stage stage) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        System.out.println("Test " + ++testCount);
+        sut = new EventNodePool();
+        timeline = new Timeline();
+        timeline.setStartDate(LocalDateTime.of(2000, 1, 1, 0, 0));
+        timeline.setEndDate(LocalDateTime.of(2100, 1, 1, 0, 0));
+    }
+
+    private Event event(int id, String name) {                  //a fresh object each time, like after reloading from the DB
+        Event e = new Event();
+        e.setID(id);
+        e.setName(name);
+        e.setStartDate(LocalDateTime.of(2000 + id, 1, 1, 0, 0));
+        e.setEndDate(LocalDateTime.of(2002 + id, 1, 1, 0, 0));
+        return e;
+    }
+
+    @Test
+    void unchangedEventsKeepTheirNodes() {
+        List<EventNode> first = sut.nodesFor(List.of(event(1, "a"), event(2, "b")), timeline, null);
+        List<EventNode> second = sut.nodesFor(List.of(event(2, "b"), event(1, "a")), timeline, null);
+
+        assertSame(first.get(0), second.get(1));
+        assertSame(first.get(1), second.get(0));
+        assertEquals(0, sut.idleCount());
+    }
+
+    @Test
+    void editedEventUpdatesItsNode() {
+        EventNode before = sut.nodesFor(List.of(event(1, "a")), timeline, null).get(0);
+        EventNode after = sut.nodesFor(List.of(event(1, "renamed")), timeline, null).get(0);
+
+        assertSame(before, after);
+        assertEquals("renamed", after.eventNameDisplay.getText());
+        assertEquals(1, after.getStartColumn());
+    }
+
+    @Test
+    void removedEventsNodesAreRecycled() {
+        List<EventNode> first = sut.nodesFor(List.of(event(1, "a"), event(2, "b"), event(3, "c")), timeline, null);
+        sut.nodesFor(List.of(event(1, "a")), timeline, null);
+        assertEquals(2, sut.idleCount());
+
+        EventNode added = sut.nodesFor(List.of(event(1, "a"), event(4, "d")), timeline, null).get(1);
+        assertTrue(added == first.get(1) || added == first.get(2));
+        assertEquals("d", added.eventNameDisplay.getText());
+        assertEquals(1, sut.idleCount());
+    }
+}
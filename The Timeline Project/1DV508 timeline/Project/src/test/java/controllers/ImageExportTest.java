@@ -0,0 +1,84 @@
+package controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ImageExportTest {
+    static private int testCount = 0;
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+    }
+
+    //A made up timeline picture where every pixel's colour says where it is, width wide enough to need several tiles
+    static TimelineTiles gradient(int width, int height) {
+        return new TimelineTiles() {
+            @Override
+            public int getWidth() {
+                return width;
+            }
+
+            @Override
+            public int getHeight() {
+                return height;
+            }
+
+            @Override
+            public void renderTile(int x, int y, int tileWidth, int tileHeight, int[] argb) {
+                for (int r = 0; r < tileHeight; r++)
+                    for (int c = 0; c < tileWidth; c++)
+                        argb[r * tileWidth + c] = pixelAt(x + c, y + r);
+            }
+        };
+    }
+
+    static int pixelAt(int x, int y) {
+        return 0xFF000000 | (x & 0xFFF) << 12 | (y & 0xFFF);
+    }
+
+    @Test
+    void timelineIsPaddedAboveAndBelow() throws IOException {
+        int width = ImageExport.TILE_WIDTH * 2 + 100;
+        int height = 400;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageExport.writeTiledPng(gradient(width, height), Color.WHITE, (g, w, h) -> {}, out);
+
+        BufferedImage read = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        int offset = ImageExport.paddingOffset(height);
+        assertEquals(width, read.getWidth());
+        assertEquals(ImageExport.paddedHeight(height), read.getHeight());
+        assertEquals(Color.WHITE.getRGB(), read.getRGB(5, offset - 1));
+        assertEquals(Color.WHITE.getRGB(), read.getRGB(width - 1, offset + height));
+        for (int y : new int[]{0, ImageExport.BAND_HEIGHT - offset, height - 1})
+            for (int x : new int[]{0, ImageExport.TILE_WIDTH, width - 1})
+                assertEquals(pixelAt(x, y), read.getRGB(x, offset + y));
+    }
+
+    @Test
+    void overlayLandsWhereItWouldOnTheWholeImage() throws IOException {
+        int width = 600;
+        int height = 1000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageExport.writeTiledPng(gradient(width, height), Color.WHITE, (g, w, h) -> {
+            g.setColor(Color.RED);
+            g.fillRect(0, h / 2 - 100, w, 200);             //across several bands
+        }, out);
+
+        BufferedImage read = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        int middle = read.getHeight() / 2;
+        assertEquals(Color.RED.getRGB(), read.getRGB(10, middle - 100));
+        assertEquals(Color.RED.getRGB(), read.getRGB(10, middle + 99));
+        assertEquals(pixelAt(10, middle + 100 - ImageExport.paddingOffset(height)), read.getRGB(10, middle + 100));
+    }
+}
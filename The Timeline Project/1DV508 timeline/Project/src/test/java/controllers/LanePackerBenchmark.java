@@ -0,0 +1,42 @@
+package controllers;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+//Time to assign rows to a timeline's events with LanePacker, against the old scan over every placed event
+//Run main() on the test classpath (e.g. from the IDE) after mvn test-compile, results print per event count
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LanePackerBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int events;
+
+    private int[][] intervals;
+
+    @Setup(Level.Trial)
+    public void init() {
+        intervals = LanePackerTest.sortedIntervals(events, 3, events * 2, 42);     //about as dense at every size
+    }
+
+    @Benchmark
+    public int[] lanePacker() {
+        return LanePackerTest.pack(intervals);
+    }
+
+    @Benchmark
+    public int[] scanning() {                                   //quadratic, the 100k run takes a while
+        return LanePackerTest.packByScanning(intervals);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LanePackerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
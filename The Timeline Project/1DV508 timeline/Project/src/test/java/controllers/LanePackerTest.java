@@ -0,0 +1,92 @@
+package controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LanePackerTest {
+    static private int testCount = 0;
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+    }
+
+    //Random {priority, start, end} intervals, sorted the way EventPlacement sorts events
+    static int[][] sortedIntervals(int count, int priorities, int columns, long seed) {
+        Random random = new Random(seed);
+        int[][] out = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(columns);
+            int span = random.nextInt(20) == 0 ? 1 + random.nextInt(columns / 10) : 1 + random.nextInt(10);   //mostly short, some long
+            out[i] = new int[]{random.nextInt(priorities), start, start + span};
+        }
+        Arrays.sort(out, Comparator.<int[]>comparingInt(e -> -e[0]).thenComparingInt(e -> e[1]).thenComparingInt(e -> e[1] - e[2]));
+        return out;
+    }
+
+    static int[] pack(int[][] intervals) {
+        LanePacker lanes = new LanePacker();
+        int[] rows = new int[intervals.length];
+        for (int i = 0; i < intervals.length; i++)
+            rows[i] = lanes.place(intervals[i][1], intervals[i][2]);
+        return rows;
+    }
+
+    static int[] packByScanning(int[][] intervals) {           //how rows used to be found, checking every interval placed so far
+        int[] rows = new int[intervals.length];
+        int rowCount = 1;
+        for (int i = 0; i < intervals.length; i++) {
+            boolean[] usedRows = new boolean[rowCount];
+            for (int j = 0; j < i; j++)
+                if (intervals[j][1] < intervals[i][2] && intervals[j][2] > intervals[i][1])
+                    usedRows[rows[j]] = true;
+            int row;
+            for (row = 1; row < usedRows.length; row++)
+                if (!usedRows[row])
+                    break;
+            rows[i] = row;
+            rowCount = Math.max(rowCount, row + 1);
+        }
+        return rows;
+    }
+
+    @Test
+    void sameRowsAsScanning() {
+        for (int seed = 0; seed < 20; seed++) {
+            int[][] intervals = sortedIntervals(2000, 1 + seed % 4, 500, seed);
+            assertArrayEquals(packByScanning(intervals), pack(intervals), "seed " + seed);
+        }
+    }
+
+    @Test
+    void sameRowsInAnyOrder() {
+        Random random = new Random(1);
+        int[][] intervals = sortedIntervals(1000, 3, 300, 1);
+        List<int[]> shuffled = new ArrayList<>(Arrays.asList(intervals));
+        Collections.shuffle(shuffled, random);
+        intervals = shuffled.toArray(new int[0][]);
+        assertArrayEquals(packByScanning(intervals), pack(intervals));
+    }
+
+    @Test
+    void lowerPriorityFillsGaps() {
+        LanePacker lanes = new LanePacker();
+        assertEquals(1, lanes.place(0, 10));
+        assertEquals(2, lanes.place(5, 20));
+        assertEquals(1, lanes.place(30, 40));
+        assertEquals(1, lanes.place(10, 30));           //next priority, back to the start and into the gap on row 1
+        assertEquals(3, lanes.place(12, 35));
+        assertEquals(4, lanes.getRowCount());
+    }
+}
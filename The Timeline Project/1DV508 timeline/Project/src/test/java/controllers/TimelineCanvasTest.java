@@ -0,0 +1,71 @@
+package controllers;
+
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(ApplicationExtension.class)
+class TimelineCanvasTest {
+    static private int testCount = 0;
+    TimelineCanvas sut;
+    EventPlacement first = placement(2, 2, 1);
+    EventPlacement second = placement(6, 1, 1);
+    EventPlacement below = placement(3, 3, 2);
+    EventPlacement far = placement(90, 1, 1);
+
+    @Start
+    public void start(Stage stage) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        System.out.println("Test " + ++testCount);
+        sut = new TimelineCanvas();
+        sut.resize(700, 400);
+        sut.setTimeline(List.of(first, below, second, far), 100, 1, 1);
+        sut.setScale(1);                                //70px columns from column 0 at the left, rows of bars from y 67, 104, ...
+    }
+
+    private static EventPlacement placement(int startColumn, int columnSpan, int row) {
+        EventPlacement p = new EventPlacement();
+        p.setStartColumn(startColumn);
+        p.setColumnSpan(columnSpan);
+        p.setRow(row);
+        return p;
+    }
+
+    @Test
+    void clickOnBarFindsItsEvent() {
+        assertSame(first, sut.eventAt(3 * 70, 77));
+        assertSame(first, sut.eventAt(2 * 70 + 1, 67));   //its top left corner
+        assertSame(second, sut.eventAt(6.5 * 70, 86));
+        assertSame(below, sut.eventAt(5 * 70, 114));
+    }
+
+    @Test
+    void clickBesideBarsFindsNothing() {
+        assertNull(sut.eventAt(5 * 70, 77));              //between the two bars of row 1
+        assertNull(sut.eventAt(4 * 70, 77));              //first's end column is exclusive
+        assertNull(sut.eventAt(3 * 70, 95));              //in the gap under row 1
+        assertNull(sut.eventAt(3 * 70, 20));              //on the axis
+        assertNull(sut.eventAt(3 * 70, 200));             //below the last row
+    }
+
+    @Test
+    void clickOnClusterAtLowZoom() {
+        sut.setScale(.02);                              //1.4px columns, all 101 fit so they're centred with column -199.5 at the left
+                                                        //glyphs are 32 columns wide and sit on row 1's centre line at y 77
+        assertSame(far, sut.eventAt(391.3, 77));          //columns 64-95 hold only far, drawn as a dot
+        assertSame(far, sut.eventAt(391.3 + 4, 77 - 2));
+        assertNull(sut.eventAt(301.7, 77));               //columns 0-31 hold three events, a cluster stands for none of them
+        assertNull(sut.eventAt(345, 77));                 //between the glyphs
+        assertNull(sut.eventAt(391.3, 104));              //only row 1 is drawn when clustered
+    }
+}
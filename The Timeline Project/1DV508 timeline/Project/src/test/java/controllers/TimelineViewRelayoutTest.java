@@ -0,0 +1,170 @@
+package controllers;
+
+import database.DBM;
+import database.Event;
+import database.Timeline;
+import database.User;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The grid patched by eventAdded/eventRemoved/eventChanged has to end up as if the whole timeline was laid out again
+@ExtendWith(ApplicationExtension.class)
+class TimelineViewRelayoutTest {
+    static private int testCount = 0;
+    TimelineView sut;
+    FxRobot robot = new FxRobot();
+
+    @BeforeAll
+    public static void beforeAll() {
+        new DBM("test");
+    }
+
+    @Start
+    public void start(Stage stage) throws Exception {
+        System.out.println("Test " + ++testCount);
+        DBM.setupSchema();
+        DBM.createTestData();
+        GUIManager.loggedInUser = new User();
+
+        FXMLLoader loader = new FXMLLoader(getClass().getResource("../../classes/FXML/TimelineView.fxml"));
+        GUIManager.mainStage = stage;
+        stage.setScene(new Scene(loader.load()));
+        sut = loader.getController();
+
+        Timeline timeline = new Timeline();                     //not saved, so nothing gets reloaded from the DB
+        timeline.setOwner(GUIManager.loggedInUser);
+        timeline.setScale(8);                                   //a column a year
+        timeline.setStartDate(LocalDateTime.of(2000, 1, 1, 0, 0));
+        timeline.setEndDate(LocalDateTime.of(2100, 1, 1, 0, 0));
+        sut.setActiveTimeline(timeline);
+        stage.show();
+    }
+
+    @Test
+    void addingAndRemovingMatchesFullLayout() {
+        step(() -> sut.eventAdded(event(1, 10, 20)));           //the first one lays out the whole grid
+        step(() -> sut.eventAdded(event(2, 15, 25)));
+        step(() -> sut.eventAdded(event(3, 18, 30)));
+        step(() -> sut.eventAdded(event(4, 50, 60)));
+        step(() -> sut.eventAdded(event(5, -5, 12)));           //starts before the timeline
+        assertEquals(Map.of(1, 2, 2, 1, 3, 3, 4, 1, 5, 1), shownRows());     //cut to start at 0, so it goes ahead of the others
+
+        step(() -> sut.eventRemoved(event(2, 15, 25)));
+        step(() -> sut.eventRemoved(event(1, 10, 20)));
+        assertEquals(1, shownRows().get(3));                    //moves up into the space they left
+
+        Event urgent = event(6, 55, 70);
+        urgent.setEventPriority(1);
+        step(() -> sut.eventAdded(urgent));
+        assertEquals(Map.of(3, 1, 4, 2, 5, 1, 6, 1), shownRows());
+    }
+
+    @Test
+    void changeThatMergesGroups() {
+        step(() -> sut.eventAdded(event(1, 10, 20)));
+        step(() -> sut.eventAdded(event(2, 12, 22)));
+        step(() -> sut.eventAdded(event(3, 30, 40)));
+        step(() -> sut.eventAdded(event(4, 32, 42)));
+        step(() -> sut.eventAdded(event(5, 45, 50)));
+        assertEquals(Map.of(1, 1, 2, 2, 3, 1, 4, 2, 5, 1), shownRows());
+
+        step(() -> sut.eventChanged(event(5, 21, 35)));         //now bridges 1-2 and 3-4, one group of five
+        assertEquals(Map.of(1, 1, 2, 2, 3, 2, 4, 3, 5, 1), shownRows());
+        step(() -> sut.eventChanged(event(3, 15, 40)));         //moved into the first group as well
+        assertEquals(3, shownRows().get(3));
+    }
+
+    @Test
+    void changeThatSplitsAGroup() {
+        step(() -> sut.eventAdded(event(1, 10, 20)));
+        step(() -> sut.eventAdded(event(2, 15, 35)));           //holds the others together
+        step(() -> sut.eventAdded(event(3, 18, 30)));
+        step(() -> sut.eventAdded(event(4, 32, 40)));
+        step(() -> sut.eventAdded(event(5, 33, 45)));
+        assertEquals(Map.of(1, 1, 2, 2, 3, 3, 4, 1, 5, 3), shownRows());
+
+        step(() -> sut.eventChanged(event(2, 80, 90)));         //two groups left behind and one on its own
+        assertEquals(Map.of(1, 1, 2, 1, 3, 2, 4, 1, 5, 2), shownRows());
+
+        step(() -> sut.eventChanged(event(3, 2, 5)));           //shorter and earlier, now clear of 1
+        step(() -> sut.eventChanged(event(4, 150, 160)));       //past the end, so off the grid
+        assertEquals(Map.of(1, 1, 2, 1, 3, 1, 5, 1), shownRows());
+    }
+
+    private Event event(int id, int startYear, int endYear) {   //a fresh object each time, like after saving in the editor
+        Event e = new Event();
+        e.setID(id);
+        e.setName("Event " + id);
+        e.setStartDate(LocalDateTime.of(2000 + startYear, 1, 1, 0, 0));
+        e.setEndDate(LocalDateTime.of(2000 + endYear, 1, 1, 0, 0));
+        return e;
+    }
+
+    private void step(Runnable change) {                        //makes the change, then compares the grid with a full layout
+        robot.interact(change);
+        assertEquals(placedRows(), shownRows());
+        assertEquals(placedColumns(), shownColumns());
+    }
+
+    private Map<Integer, Integer> placedRows() {
+        Map<Integer, Integer> rows = new HashMap<>();
+        fullLayout().forEach(p -> rows.put(p.getEvent().getID(), p.getRow()));
+        return rows;
+    }
+
+    private Map<Integer, List<Integer>> placedColumns() {
+        Map<Integer, List<Integer>> columns = new HashMap<>();
+        fullLayout().forEach(p -> columns.put(p.getEvent().getID(), List.of(p.getStartColumn(), p.getColumnSpan())));
+        return columns;
+    }
+
+    private List<EventPlacement> fullLayout() {
+        List<EventPlacement> placements = new ArrayList<>();
+        for (Event e : sut.activeTimeline.getEventList())
+            placements.add(new EventPlacement(e, sut.activeTimeline));
+        Collections.sort(placements);
+        return EventPlacement.placeAll(placements, sut.timelineGrid.getColumnCount());
+    }
+
+    private Map<Integer, Integer> shownRows() {
+        Map<Integer, Integer> rows = new HashMap<>();
+        eventPanes().forEach((id, pane) -> rows.put(id, GridPane.getRowIndex(pane)));
+        return rows;
+    }
+
+    private Map<Integer, List<Integer>> shownColumns() {
+        Map<Integer, List<Integer>> columns = new HashMap<>();
+        eventPanes().forEach((id, pane) -> columns.put(id, List.of(GridPane.getColumnIndex(pane), GridPane.getColumnSpan(pane))));
+        return columns;
+    }
+
+    private Map<Integer, Node> eventPanes() {                   //by event ID, read back from the name on each event's box
+        Map<Integer, Node> panes = new HashMap<>();
+        for (Node n : sut.timelineGrid.getChildren())
+            if (n instanceof Pane && n.getStyleClass().contains("eventNode")) {
+                String name = ((Label) ((Pane) n).getChildren().get(0)).getText();
+                assertNull(panes.put(Integer.parseInt(name.substring("Event ".length())), n));     //each event shown once
+            }
+        return panes;
+    }
+}
@@ -0,0 +1,68 @@
+package controllers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimelineViewportTest {
+    static private int testCount = 0;
+    TimelineViewport sut;
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+
+        sut = new TimelineViewport();
+        sut.setSize(700, 400);                  //10 columns wide at 100%
+        sut.setContent(10_000_000, 1000);
+    }
+
+    @Test
+    void zoomKeepsColumnUnderMouse() {
+        sut.panBy(-70 * 5000, 0);
+        double before = sut.columnAt(123);
+
+        sut.zoomAt(123, 0.01);
+        assertEquals(before, sut.columnAt(123), 1e-6);
+        sut.zoomAt(123, 5);
+        assertEquals(before, sut.columnAt(123), 1e-6);
+    }
+
+    @Test
+    void panStaysInsideTimeline() {
+        sut.panBy(1000, 1000);
+        assertEquals(0, sut.firstVisibleColumn());
+        assertEquals(0, sut.contentYAt(0));
+
+        sut.panBy(-1e12, -1e12);
+        assertEquals(10_000_000, sut.lastVisibleColumn(), 1e-6);
+        assertEquals(600, sut.contentYAt(0));
+    }
+
+    @Test
+    void shortTimelineIsCentered() {
+        sut.setContent(4, 100);
+        assertEquals(2, (sut.firstVisibleColumn() + sut.lastVisibleColumn()) / 2, 1e-9);
+
+        sut.panBy(-500, 0);
+        assertEquals(2, (sut.firstVisibleColumn() + sut.lastVisibleColumn()) / 2, 1e-9);
+    }
+
+    @Test
+    void columnsAndPixelsRoundTrip() {
+        sut.zoomAt(0, 0.001);
+        sut.panBy(-12345, 0);
+        for (double x : new double[]{0, 1.5, 350, 700})
+            assertEquals(x, sut.xOf(sut.columnAt(x)), 1e-6);
+    }
+
+    @Test
+    void labelsStepUpByPowersOfTen() {
+        assertEquals(2, TimelineViewport.labelStep(2, 70, 70));
+        assertEquals(10, TimelineViewport.labelStep(2, 20, 70));          //years to decades
+        assertEquals(100, TimelineViewport.labelStep(1, 1, 70));
+        assertEquals(1000, TimelineViewport.labelStep(1, .07, 70));
+    }
+}
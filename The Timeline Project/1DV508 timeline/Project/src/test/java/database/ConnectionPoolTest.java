@@ -0,0 +1,219 @@
+package database;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    static final private String SCHEMA = "test";
+    static private int testCount = 0;
+
+    @BeforeAll
+    static void init() throws FileNotFoundException, SQLException {
+        new DBM(SCHEMA);
+        DBM.setupSchema();
+        DBM.createTestData();
+    }
+
+    @AfterAll
+    static void finish() throws SQLException {
+        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
+        DBM.conn.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+    }
+
+    @Test
+    void threadsGetSeparateConnections() throws Exception {
+        DBM.conn.setAutoCommit(false);
+        try {
+            boolean otherThreadAutoCommit = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return DBM.conn.getAutoCommit();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    DBM.release();
+                }
+            }).get();
+
+            assertTrue(otherThreadAutoCommit);
+        } finally {
+            DBM.conn.setAutoCommit(true);
+        }
+    }
+
+    @Test
+    void borrowedConnectionUsesSchema() throws Exception {
+        String catalog = CompletableFuture.supplyAsync(() -> {
+            try {
+                return DBM.conn.getCatalog();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            } finally {
+                DBM.release();
+            }
+        }).get();
+
+        assertEquals(SCHEMA, catalog);
+    }
+
+    @Test
+    void releasedConnectionIsReused() throws SQLException {
+        ConnectionPool pool = DBM.getPool();
+        ConnectionPool.Lease first = pool.borrow(false);
+        Connection connection = first.connection;
+        pool.release(first);
+
+        ConnectionPool.Lease second = pool.borrow(false);
+        try {
+            assertSame(connection, second.connection);
+        } finally {
+            pool.release(second);
+        }
+    }
+
+    @Test
+    void releaseRollsBackOpenTransaction() throws SQLException {
+        ConnectionPool pool = DBM.getPool();
+        ConnectionPool.Lease lease = pool.borrow(false);
+        lease.connection.setAutoCommit(false);
+        lease.connection.createStatement().execute("DELETE FROM events");
+        pool.release(lease);
+
+        ConnectionPool.Lease reused = pool.borrow(false);
+        try {
+            assertTrue(reused.connection.getAutoCommit());
+            assertEquals(5, DBM.getFromDB(DBM.conn.prepareStatement("SELECT COUNT(*) FROM events"), rs -> rs.getInt(1)).get(0));
+        } finally {
+            pool.release(reused);
+        }
+    }
+
+    @Test
+    void invalidIdleConnectionIsReplaced() throws SQLException {
+        ConnectionPool pool = DBM.getPool();
+        ConnectionPool.Lease lease = pool.borrow(false);
+        Connection broken = lease.connection;
+        pool.release(lease);
+        broken.close();                                 //simulate the server dropping an idle connection
+
+        long discarded = pool.getConnectionsDiscarded();
+        ConnectionPool.Lease replacement = pool.borrow(false);
+        try {
+            assertNotSame(broken, replacement.connection);
+            assertTrue(replacement.connection.isValid(2));
+            assertEquals(discarded + 1, pool.getConnectionsDiscarded());
+        } finally {
+            pool.release(replacement);
+        }
+    }
+
+    @Test
+    void poolIsBounded() throws Exception {
+        ConnectionPool pool = DBM.getPool();
+        List<ConnectionPool.Lease> held = new ArrayList<>();
+        while (pool.getActiveConnections() < pool.getMaxConnections())
+            held.add(pool.borrow(false));
+
+        CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return DBM.getFromDB(DBM.conn.prepareStatement("SELECT 1"), rs -> rs.getInt(1)).get(0);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            } finally {
+                DBM.release();
+            }
+        });
+
+        try {
+            assertThrows(TimeoutException.class, () -> waiting.get(500, TimeUnit.MILLISECONDS));
+            assertEquals(1, pool.getThreadsWaiting());
+            assertEquals(pool.getMaxConnections(), pool.getActiveConnections());
+        } finally {
+            held.forEach(pool::release);
+        }
+
+        assertEquals(1, waiting.get(5, TimeUnit.SECONDS));
+        assertTrue(pool.getMaxWaitMillis() >= 500);
+    }
+
+    @Test
+    void preparedStatementsAreReused() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM events WHERE EventID > ?";
+        PreparedStatement first = DBM.prepare(sql);
+        PreparedStatement underlying = first.unwrap(PreparedStatement.class);
+        first.setInt(1, 1);
+        first.close();
+        assertTrue(first.isClosed());
+        assertThrows(SQLException.class, first::executeQuery);          //closed handle can't touch the cached statement anymore
+
+        try (PreparedStatement second = DBM.prepare(sql)) {
+            assertSame(underlying, second.unwrap(PreparedStatement.class));
+            assertThrows(SQLException.class, second::executeQuery);     //parameters were cleared when handed back
+        }
+    }
+
+    @Test
+    void statementInUseIsNotShared() throws SQLException {
+        String sql = "SELECT * FROM users WHERE UserID = ?";
+        try (PreparedStatement outer = DBM.prepare(sql);
+             PreparedStatement inner = DBM.prepare(sql)) {
+            assertNotSame(outer.unwrap(PreparedStatement.class), inner.unwrap(PreparedStatement.class));
+        }
+    }
+
+    @Test
+    void evictedStatementsAreClosed() throws SQLException {
+        ConnectionPool pool = DBM.getPool();
+        PreparedStatement cached = DBM.prepare("SELECT 1");
+        PreparedStatement underlying = cached.unwrap(PreparedStatement.class);
+        cached.close();
+
+        pool.setStatementCacheSize(0);
+        try {
+            assertTrue(underlying.isClosed());
+        } finally {
+            pool.setStatementCacheSize(64);
+        }
+    }
+
+    @Test
+    void closedPoolRejectsQueries() throws FileNotFoundException, SQLException {
+        PreparedStatement cached = DBM.prepare("SELECT 1");
+        PreparedStatement underlying = cached.unwrap(PreparedStatement.class);
+        cached.close();
+        DBM.close();
+        assertTrue(underlying.isClosed());                              //the cache let go of it along with the pool
+
+        assertThrows(SQLException.class, () -> DBM.conn.createStatement());
+        ExecutionException fromOtherThread = assertThrows(ExecutionException.class, () -> CompletableFuture.runAsync(() -> {
+            try {
+                DBM.conn.createStatement();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }).get());
+        assertTrue(fromOtherThread.getCause().getCause() instanceof SQLException);
+
+        new DBM(SCHEMA);
+    }
+}
@@ -1,151 +1,475 @@
-package database;
-
-import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-
-import java.io.FileNotFoundException;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.util.List;
-
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
-
-public class DBMIntegrationTest {
-    static final private String SCHEMA = "test";
-    static private int testCount = 0;
-    static private PreparedStatement stmt;
-    static private ResultSet rs;
-
-
-    @BeforeAll
-    static void init() throws SQLException, ClassNotFoundException {
-        new DBM(SCHEMA);
-    }
-
-    @AfterAll
-    static void finish() throws SQLException {
-        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
-        DBM.conn.close();
-    }
-
-    @BeforeEach
-    void setUp() throws FileNotFoundException, SQLException {
-        testCount++;
-        System.out.println("Test " + testCount);
-
-        DBM.setupSchema();
-        DBM.createTestData();
-    }
-
-    @Test
-    void insertMultiple() throws SQLException {
-        int expected = 8;
-
-        Event event1 = new Event();
-        Event event2 = new Event();
-        Event event3 = new Event();
-        DBM.insertIntoDB(event1, event2, event3);
-
-        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
-        rs = stmt.executeQuery();
-        rs.next();
-        int actual = rs.getInt(1);
-
-        assertEquals(expected, actual);
-    }
-
-    @Test
-    void insertList() throws SQLException {
-        int expected = 9;
-
-        Event[] events = new Event[4];
-        for (int i = 0; i < 4; i++) {
-            events[i] = new Event();
-        }
-        DBM.insertIntoDB(events);
-
-        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
-        rs = stmt.executeQuery();
-        rs.next();
-        int actual = rs.getInt(1);
-
-        assertEquals(expected, actual);
-    }
-
-    @Test
-    void insertNulls() throws SQLException {
-        int expected = 1 + DBM.getFromDB(DBM.conn.prepareStatement("SELECT COUNT(*) FROM events"), rs -> rs.getInt(1)).get(0);
-
-        Event[] events = new Event[3];
-        events[1] = new Event();
-        DBM.insertIntoDB(events);
-
-        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
-        rs = stmt.executeQuery();
-        rs.next();
-        int actual = rs.getInt(1);
-
-        assertEquals(expected, actual);
-    }
-
-    @Test
-    void insertDuplicateThrowsException() {
-        //Event event = new Event(1, 2020, 4, 9);
-        //DBM.insertIntoDB(event);
-
-        //assertThrows(SQLIntegrityConstraintViolationException.class, () -> DBM.insertIntoDB(event));
-    }
-
-    @Test
-    void updatebyArray() throws SQLException {
-        String expected;
-
-        List<User> userList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
-        for (int i = 0; i < 5; i++) {
-            userList.get(i).setUserEmail("test"+i+"@newdomain.biz");
-        }
-        DBM.updateInDB(userList);
-        List<User> updatedList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
-
-        String actual;
-        for (int i = 0; i < 5; i++) {
-            expected = "test"+i+"@newdomain.biz";
-            actual = updatedList.get(i).getUserEmail();
-            assertEquals(expected, actual);
-        }
-    }
-
-    @Test
-    void updateNulls() throws SQLException {
-        User[] users = new User[3];
-        DBM.updateInDB(users);
-    }
-
-    @Test
-    void deleteByList() throws SQLException {
-        int expected = 2;
-
-        List<Event> eventList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM events"), new Event());
-        eventList.remove(1);
-        eventList.remove(3);
-        DBM.deleteFromDB(eventList);
-
-        int actual = DBM.getFromDB(DBM.conn.prepareStatement("SELECT count(*) FROM events"), rs -> rs.getInt(1)).get(0);    //first row of count column
-
-        assertEquals(expected, actual);
-    }
-
-    @Test
-    void sanitizeSQLInjection() throws SQLException {
-        User injection = new User("TestName', 'TestEmail', 'TestPass', 'TestSalt', '1'); -- ", "email@domain.com", "Passw0rd!");    //1 in last slot would ordinarily mean user is admin
-        DBM.insertIntoDB(injection);
-
-        List<User> userList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
-
-        assertFalse(userList.get(0).getAdmin());
-    }
-}
+package database;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utils.DateUtils;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DBMIntegrationTest {
+    static final private String SCHEMA = "test";
+    static private int testCount = 0;
+    static private PreparedStatement stmt;
+    static private ResultSet rs;
+
+
+    @BeforeAll
+    static void init() throws SQLException, ClassNotFoundException {
+        new DBM(SCHEMA);
+    }
+
+    @AfterAll
+    static void finish() throws SQLException {
+        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
+        DBM.conn.close();
+    }
+
+    @BeforeEach
+    void setUp() throws FileNotFoundException, SQLException {
+        testCount++;
+        System.out.println("Test " + testCount);
+
+        DBM.setupSchema();
+        DBM.createTestData();
+    }
+
+    @Test
+    void insertMultiple() throws SQLException {
+        int expected = 8;
+
+        Event event1 = new Event();
+        Event event2 = new Event();
+        Event event3 = new Event();
+        DBM.insertIntoDB(event1, event2, event3);
+
+        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
+        rs = stmt.executeQuery();
+        rs.next();
+        int actual = rs.getInt(1);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void insertList() throws SQLException {
+        int expected = 9;
+
+        Event[] events = new Event[4];
+        for (int i = 0; i < 4; i++) {
+            events[i] = new Event();
+        }
+        DBM.insertIntoDB(events);
+
+        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
+        rs = stmt.executeQuery();
+        rs.next();
+        int actual = rs.getInt(1);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void insertNulls() throws SQLException {
+        int expected = 1 + DBM.getFromDB(DBM.conn.prepareStatement("SELECT COUNT(*) FROM events"), rs -> rs.getInt(1)).get(0);
+
+        Event[] events = new Event[3];
+        events[1] = new Event();
+        DBM.insertIntoDB(events);
+
+        stmt = DBM.conn.prepareStatement("SELECT COUNT(*) FROM events");
+        rs = stmt.executeQuery();
+        rs.next();
+        int actual = rs.getInt(1);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void insertDuplicateThrowsException() {
+        //Event event = new Event(1, 2020, 4, 9);
+        //DBM.insertIntoDB(event);
+
+        //assertThrows(SQLIntegrityConstraintViolationException.class, () -> DBM.insertIntoDB(event));
+    }
+
+    @Test
+    void updatebyArray() throws SQLException {
+        String expected;
+
+        List<User> userList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
+        for (int i = 0; i < 5; i++) {
+            userList.get(i).setUserEmail("test"+i+"@newdomain.biz");
+        }
+        DBM.updateInDB(userList);
+        List<User> updatedList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
+
+        String actual;
+        for (int i = 0; i < 5; i++) {
+            expected = "test"+i+"@newdomain.biz";
+            actual = updatedList.get(i).getUserEmail();
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void updateNulls() throws SQLException {
+        User[] users = new User[3];
+        DBM.updateInDB(users);
+    }
+
+    @Test
+    void deleteByList() throws SQLException {
+        int expected = 2;
+
+        List<Event> eventList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM events"), new Event());
+        eventList.remove(1);
+        eventList.remove(3);
+        DBM.deleteFromDB(eventList);
+
+        int actual = DBM.getFromDB(DBM.conn.prepareStatement("SELECT count(*) FROM events"), rs -> rs.getInt(1)).get(0);    //first row of count column
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void sanitizeSQLInjection() throws SQLException {
+        User injection = new User("TestName', 'TestEmail', 'TestPass', 'TestSalt', '1'); -- ", "email@domain.com", "Passw0rd!");    //1 in last slot would ordinarily mean user is admin
+        DBM.insertIntoDB(injection);
+
+        List<User> userList = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM users"), new User());
+
+        assertFalse(userList.get(0).getAdmin());
+    }
+
+    @Test
+    void hydrateTimelinesInBoundedQueries() throws SQLException {
+        List<Timeline> perRow = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM timelines"), new Timeline());
+
+        long before = statementsRun();
+        long overhead = statementsRun() - before;                   //the status query counts itself, so measure that first
+        before = statementsRun();
+        List<Timeline> hydrated = Timeline.getTimelinesFromDB();
+        long actual = statementsRun() - before - overhead;
+
+        assertEquals(1, actual);            //one joined query for timelines, owners and ratings, events are left for later
+        assertEquals(perRow.size(), hydrated.size());
+        assertFalse(hydrated.stream().anyMatch(Timeline::isEventListLoaded));
+        for (int i = 0; i < perRow.size(); i++) {
+            assertEquals(perRow.get(i).getID(), hydrated.get(i).getID());
+            assertEquals(perRow.get(i).getOwnerID(), hydrated.get(i).getOwnerID());
+            assertEquals(perRow.get(i).getRating(), hydrated.get(i).getRating(), 0.0001);
+            assertEquals(perRow.get(i).getEventList().size(), hydrated.get(i).getEventList().size());
+        }
+    }
+
+    @Test
+    void hydrateSingleTimeline() throws SQLException {
+        Timeline expected = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM timelines WHERE TimelineID = 1"), new Timeline()).get(0);
+        Timeline actual = Timeline.getTimelineFromDB(1);
+
+        assertEquals(expected.getName(), actual.getName());
+        assertTrue(actual.isEventListLoaded());
+        assertEquals(expected.getEventList().size(), actual.getEventList().size());
+        assertNull(Timeline.getTimelineFromDB(-1));
+    }
+
+    @Test
+    void pagedTimelinesMatchFullList() throws SQLException {
+        List<Timeline> all = Timeline.getTimelinesFromDB();
+        List<Timeline> paged = new ArrayList<>();
+        List<Timeline> page;
+        int lastID = 0;
+        do {
+            page = Timeline.getTimelinesFromDB(lastID, 2);
+            paged.addAll(page);
+            if (!page.isEmpty())
+                lastID = page.get(page.size() - 1).getID();
+        } while (page.size() == 2);
+
+        assertEquals(all.size(), Timeline.countTimelinesInDB());
+        assertEquals(all.size(), paged.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getID(), paged.get(i).getID());
+            assertEquals(all.get(i).getEventList().size(), paged.get(i).getEventList().size());
+        }
+    }
+
+    @Test
+    void sortKeysMatchDates() throws SQLException {
+        Event event = new Event();
+        event.setStartDate(LocalDateTime.of(-5000, 2, 3, 4, 5, 6, 7000000));
+        event.setEndDate(LocalDateTime.of(-4000, 1, 1, 0, 0));
+        DBM.insertIntoDB(event);
+
+        List<BigDecimal[]> keys = DBM.getFromDB(DBM.conn.prepareStatement("SELECT * FROM events"), rs -> new BigDecimal[]{
+                rs.getBigDecimal("StartKey"),
+                DateUtils.sortKey(LocalDateTime.of(rs.getInt("StartYear"), rs.getInt("StartMonth"), rs.getInt("StartDay"),
+                        rs.getInt("StartHour"), rs.getInt("StartMinute"), rs.getInt("StartSecond"), rs.getInt("StartMillisecond") * 1000000)),
+                rs.getBigDecimal("EndKey"),
+                DateUtils.sortKey(LocalDateTime.of(rs.getInt("EndYear"), rs.getInt("EndMonth"), rs.getInt("EndDay"),
+                        rs.getInt("EndHour"), rs.getInt("EndMinute"), rs.getInt("EndSecond"), rs.getInt("EndMillisecond") * 1000000))});
+
+        for (BigDecimal[] k : keys) {            //rows from the test data script get their keys from the trigger, the new one from addToBatch
+            assertEquals(0, k[0].compareTo(k[1]));
+            assertEquals(0, k[2].compareTo(k[3]));
+        }
+    }
+
+    @Test
+    void eventsInRange() throws SQLException {
+        Timeline timeline = Timeline.getTimelineFromDB(1);
+        LocalDateTime from = LocalDateTime.of(0, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+        List<Integer> expected = new ArrayList<>();
+        for (Event e : timeline.getEventList())
+            if (!e.getStartDate().isAfter(to) && !e.getEndDate().isBefore(from))
+                expected.add(e.getID());
+        List<Integer> actual = new ArrayList<>();
+        for (Event e : Event.getEventsFromDB(1, from, to))
+            actual.add(e.getID());
+
+        expected.sort(null);
+        actual.sort(null);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void eventsInRangeGoThroughTheTimeline() throws SQLException {
+        try (PreparedStatement explain = DBM.conn.prepareStatement("EXPLAIN " + Event.EVENTS_IN_PERIOD)) {
+            explain.setInt(1, 1);
+            explain.setBigDecimal(2, DateUtils.sortKey(LocalDateTime.of(1000, 1, 1, 0, 0)));
+            explain.setBigDecimal(3, DateUtils.sortKey(LocalDateTime.of(0, 1, 1, 0, 0)));
+            List<List<String>> plan = DBM.getFromDB(explain, rs -> List.of(rs.getString("table"), rs.getString("type"), String.valueOf(rs.getString("key"))));
+
+            assertEquals(List.of("te", "ref", "TimelineID_idx"), plan.get(0));     //only this timeline's links
+            assertEquals(List.of("e", "eq_ref", "PRIMARY"), plan.get(1));         //and their events, one lookup each
+        }
+    }
+
+    @Test
+    void deleteOrphansKeepsSharedEvents() throws SQLException {
+        List<Integer> shared = DBM.getFromDB(DBM.conn.prepareStatement("SELECT DISTINCT te.EventID FROM timelineevents te " +
+                "INNER JOIN timelineevents other ON te.EventID = other.EventID AND other.TimelineID != 1 " +
+                "WHERE te.TimelineID = 1 ORDER BY te.EventID"), rs -> rs.getInt(1));
+        Timeline.getTimelineFromDB(1).deleteOrphans();
+
+        List<Integer> actual = DBM.getFromDB(DBM.conn.prepareStatement("SELECT te.EventID FROM timelineevents te " +
+                "INNER JOIN events e ON te.EventID = e.EventID WHERE te.TimelineID = 1 ORDER BY te.EventID"), rs -> rs.getInt(1));
+        assertEquals(shared, actual);
+    }
+
+    @Test
+    void reratingReplacesRating() throws SQLException {
+        Timeline timeline = Timeline.getTimelineFromDB(1);
+        timeline.addRating(2, 1);
+        timeline.addRating(4, 1);
+
+        List<Integer> actual = DBM.getFromDB(DBM.conn.prepareStatement("SELECT Rating FROM ratings WHERE UserID = 1 AND TimeLineID = 1"),
+                rs -> rs.getInt(1));
+        assertEquals(List.of(4), actual);
+    }
+
+    @Test
+    void ratingTotalsFollowRatings() throws SQLException {
+        Timeline timeline = Timeline.getTimelineFromDB(2);
+        timeline.addRating(2, 1);
+        timeline.addRating(4, 1);                              //replaces the first
+        timeline.addRating(5, 2);
+        timeline.updateRatingFromDB();
+        assertEquals(Timeline.getTimelineFromDB(2).getRatingCount(), timeline.getRatingCount());
+        assertEquals(Timeline.getTimelineFromDB(2).getRating(), timeline.getRating());
+
+        DBM.conn.createStatement().execute("DELETE FROM ratings WHERE UserID = 3");
+        DBM.conn.createStatement().execute("DELETE FROM users WHERE UserID = 12");     //its ratings go by cascade, which skips triggers
+
+        String stored = "SELECT TimelineID, RatingSum, RatingCount FROM timelines ORDER BY TimelineID";
+        String counted = "SELECT t.TimelineID, COALESCE(SUM(r.Rating), 0), COUNT(r.Rating) FROM timelines t " +
+                "LEFT JOIN ratings r ON t.TimelineID = r.TimeLineID GROUP BY t.TimelineID ORDER BY t.TimelineID";
+        assertEquals(DBM.getFromDB(DBM.conn.prepareStatement(counted), rs -> List.of(rs.getInt(1), rs.getInt(2), rs.getInt(3))),
+                DBM.getFromDB(DBM.conn.prepareStatement(stored), rs -> List.of(rs.getInt(1), rs.getInt(2), rs.getInt(3))));
+    }
+
+    @Test
+    void exportedSummaryHasItsEvents() throws SQLException, IOException {
+        File file = File.createTempFile("timeline", ".json");
+        file.deleteOnExit();
+        Timeline summary = Timeline.getTimelinesFromDB().stream().filter(t -> t.getID() == 1).findFirst().orElseThrow();
+        assertFalse(summary.isEventListLoaded());
+        new JSONTimeline(summary).exportTo(file);
+
+        int links = count("timelineevents");
+        JSONTimeline.readFrom(file).importToDB();
+        assertEquals(links + Timeline.getTimelineFromDB(1).getEventList().size(), count("timelineevents"));
+    }
+
+    @Test
+    void reimportReusesEvents() throws SQLException, IOException {
+        File file = File.createTempFile("timeline", ".json");
+        file.deleteOnExit();
+        new JSONTimeline(Timeline.getTimelineFromDB(1)).exportTo(file);
+
+        JSONTimeline.readFrom(file).importToDB();                    //its events may be owned by others, so may go in once as the timeline owner's
+        int events = count("events");
+        int links = count("timelineevents");
+
+        JSONTimeline again = JSONTimeline.readFrom(file);
+        again.importToDB();
+        assertEquals(events, count("events"));                       //every event matched, none inserted twice
+        assertEquals(links + Timeline.getTimelineFromDB(1).getEventList().size(), count("timelineevents"));
+        assertTrue(again.getPhaseMillis().containsKey("match events"));
+    }
+
+    @Test
+    void importsTimelineWithoutEvents() throws SQLException, IOException {
+        int timelines = count("timelines");
+        int events = count("events");
+        JSONTimeline empty = JSONTimeline.readFrom(new File(DataSeeder.DEMO_DATA + "Fall_of_Rome.json"));
+
+        assertTrue(empty.importToDB());
+        assertTrue(JSONTimeline.readFrom(new File(DataSeeder.DEMO_DATA + "Fall_of_Rome.json")).importToDB());   //again, nothing new at all
+        assertEquals(timelines + 2, count("timelines"));
+        assertEquals(events, count("events"));
+        assertTrue(DBM.conn.getAutoCommit());
+    }
+
+    @Test
+    void emptyListsDoNothing() throws SQLException {
+        int events = count("events");
+        DBM.insertIntoDB(new ArrayList<Event>());
+        DBM.updateInDB(new ArrayList<Event>());
+        DBM.deleteFromDB(new ArrayList<Event>());
+        assertEquals(events, count("events"));
+    }
+
+    @Test
+    void insertInsideTransactionRollsBack() throws SQLException {
+        int before = count("events");
+        DBM.conn.setAutoCommit(false);
+        DBM.insertIntoDB(new Event(), new Event());                 //leaves committing to the transaction it's in
+        DBM.conn.rollback();
+        DBM.conn.setAutoCommit(true);
+        assertEquals(before, count("events"));
+    }
+
+    @Test
+    void updateAndDeleteInsideTransactionRollBack() throws SQLException {
+        Timeline timeline = Timeline.getTimelineFromDB(1);
+        String name = timeline.getName();
+        Event event = new Event();                                  //no image, so nothing on disk goes with it
+        DBM.insertIntoDB(event);
+        int events = count("events");
+        DBM.conn.setAutoCommit(false);
+        timeline.setName("Renamed");
+        DBM.updateInDB(timeline);                                   //neither commits the transaction they're in
+        DBM.deleteFromDB(event);
+        DBM.conn.rollback();
+        DBM.conn.setAutoCommit(true);
+
+        assertEquals(name, Timeline.getTimelineFromDB(1).getName());
+        assertEquals(events, count("events"));
+    }
+
+    @Test
+    void failedBatchKeepsNoneOfIt() throws SQLException {
+        int users = count("users");
+        User first = new User("First", "same@batch.test", "Passw0rd!");
+        User second = new User("Second", "same@batch.test", "Passw0rd!");
+
+        SQLException e = assertThrows(SQLException.class, () -> DBM.insertIntoDB(first, second));
+        assertTrue(DBM.violatesConstraint(e));
+        assertEquals(users, count("users"));                        //not even the first
+        assertTrue(DBM.conn.getAutoCommit());
+    }
+
+    @Test
+    void seedsInParallel() throws InterruptedException, SQLException {
+        List<File> files = Arrays.asList(new File(DataSeeder.DEMO_DATA).listFiles());
+        int timelines = count("timelines");
+        List<Long> progress = Collections.synchronizedList(new ArrayList<>());
+
+        assertEquals(files.size(), new DataSeeder(4).seed(files, (done, total) -> progress.add(total - done)));
+        assertEquals(timelines + files.size(), count("timelines"));
+        assertTrue(progress.contains(0L));                           //got all the way
+    }
+
+    @Test
+    void sharedImagesGoWithTheirLastUser() throws SQLException, IOException {
+        File image = File.createTempFile("image", ".png");
+        String path = image.getPath().replace('\\', '/');
+        Event first = new Event();
+        Event second = new Event();
+        first.setImage(path);
+        second.setImage(path);
+        DBM.insertIntoDB(first, second);
+        assertEquals(2, ImageRefs.count(path));
+
+        Timeline timeline = Timeline.getTimelineFromDB(1);
+        timeline.setImage(path);
+        DBM.updateInDB(timeline);
+        assertEquals(3, ImageRefs.count(path));
+        timeline.setImage(null);
+        DBM.updateInDB(timeline);
+
+        DBM.deleteFromDB(first);
+        assertTrue(image.exists());                                 //the other event still shows it
+        DBM.deleteFromDB(second);
+        assertFalse(image.exists());
+        assertEquals(0, ImageRefs.count(path));
+    }
+
+    @Test
+    void deletingTimelineDeletesImagesOfItsEvents() throws SQLException, IOException {
+        File own = File.createTempFile("image", ".png");
+        File shared = File.createTempFile("image", ".png");
+        Event onlyHere = new Event();
+        Event alsoElsewhere = new Event();
+        onlyHere.setImage(own.getPath().replace('\\', '/'));
+        alsoElsewhere.setImage(shared.getPath().replace('\\', '/'));
+        DBM.insertIntoDB(onlyHere, alsoElsewhere);
+        onlyHere.addToTimeline(1);
+        alsoElsewhere.addToTimeline(1);
+        alsoElsewhere.addToTimeline(2);
+
+        Timeline timeline = Timeline.getTimelineFromDB(1);
+        timeline.deleteOrphans();
+        DBM.deleteFromDB(timeline);
+
+        assertFalse(own.exists());
+        assertEquals(0, DBM.getFromDB(DBM.conn.prepareStatement("SELECT COUNT(*) FROM images WHERE ImagePath = '"
+                + onlyHere.getImagePath() + "'"), rs -> rs.getInt(1)).get(0));
+        assertTrue(shared.exists());                                //its event is still on timeline 2
+        assertEquals(1, ImageRefs.count(alsoElsewhere.getImagePath()));
+
+        alsoElsewhere.removeFromTimeline(2);                         //its last timeline, so the event goes and its image too
+        assertFalse(shared.exists());
+        assertEquals(0, ImageRefs.count(alsoElsewhere.getImagePath()));
+    }
+
+    private int count(String table) throws SQLException {
+        return DBM.getFromDB(DBM.conn.prepareStatement("SELECT COUNT(*) FROM " + table), rs -> rs.getInt(1)).get(0);
+    }
+
+    private long statementsRun() throws SQLException {          //MySQL's count of statements sent by this session
+        return DBM.getFromDB(DBM.conn.prepareStatement("SHOW SESSION STATUS LIKE 'Questions'"), rs -> rs.getLong("Value")).get(0);
+    }
+}
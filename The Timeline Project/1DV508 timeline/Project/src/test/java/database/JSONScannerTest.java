@@ -0,0 +1,82 @@
+package database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JSONScannerTest {
+    @TempDir
+    Path folder;
+
+    @Test
+    void walksMembersAndHandsOutRawValues() throws IOException {
+        JSONScanner sut = new JSONScanner(new StringReader(
+                "{ \"A\" : {\"x\": [1, \"}]\\\"\"]}, \"B\": 12 ,\"C\":null, \"D\": \"skip \\\" me\", \"E\": true }"));
+        sut.beginObject();
+        assertTrue(sut.hasNext());
+        assertEquals("A", sut.nextName());
+        assertEquals("{\"x\": [1, \"}]\\\"\"]}", sut.nextRawValue());
+        assertTrue(sut.hasNext());
+        assertEquals("B", sut.nextName());
+        assertEquals("12", sut.nextRawValue());
+        assertTrue(sut.hasNext());
+        assertEquals("C", sut.nextName());
+        assertTrue(sut.nextNull());
+        assertTrue(sut.hasNext());
+        assertEquals("D", sut.nextName());
+        sut.skipValue();
+        assertTrue(sut.hasNext());
+        assertEquals("E", sut.nextName());
+        assertFalse(sut.nextNull());
+        assertEquals("true", sut.nextRawValue());
+        assertFalse(sut.hasNext());
+        sut.endObject();
+    }
+
+    @Test
+    void stringsStreamWithEscapesUndone() throws IOException {
+        JSONScanner sut = new JSONScanner(new StringReader("[\"ab\\u003d\\/\\n\", \"left\"]"));
+        sut.beginArray();
+        try (InputStream string = sut.nextString()) {
+            assertEquals("ab=/\n", new String(string.readAllBytes(), StandardCharsets.US_ASCII));
+        }
+        assertTrue(sut.hasNext());
+        sut.nextString().close();                   //unread, but the scanner still ends up after it
+        assertFalse(sut.hasNext());
+        sut.endArray();
+    }
+
+    @Test
+    void readFromSavesImagesWhileReading() throws IOException {
+        byte[] timelineImage = new byte[300_000];
+        byte[] eventImage = new byte[1000];
+        new Random(1).nextBytes(timelineImage);
+        new Random(2).nextBytes(eventImage);
+        String timelinePath = folder.resolve("timeline.png").toString().replace('\\', '/');
+        String eventPath = folder.resolve("event.png").toString().replace('\\', '/');
+
+        File file = folder.resolve("export.json").toFile();
+        Files.writeString(file.toPath(), "{\n" +
+                "  \"Timeline\": {\"Timeline Name\": \"Streamed\", \"Image Path\": \"" + timelinePath + "\", \"Event List\": [\n" +
+                "    {\"Event Name\": \"First\", \"Image Path\": \"" + eventPath + "\"}, {\"Event Name\": \"Second\"}]},\n" +
+                "  \"Ratings\": {\"someone@mail.com\": 4},\n" +
+                "  \"Timeline Image\": \"" + Base64.getEncoder().encodeToString(timelineImage).replace("=", "\\u003d") + "\",\n" +
+                "  \"Event Images\": [\"" + Base64.getEncoder().encodeToString(eventImage) + "\", null]\n" +
+                "}");
+
+        JSONTimeline.readFrom(file);
+        assertArrayEquals(timelineImage, Files.readAllBytes(folder.resolve("timeline.png")));
+        assertArrayEquals(eventImage, Files.readAllBytes(folder.resolve("event.png")));
+    }
+}
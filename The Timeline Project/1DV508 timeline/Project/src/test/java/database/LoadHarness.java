@@ -0,0 +1,204 @@
+package database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+//Replays what users do in the app against a filled schema, headless, from several threads at once, and reports latency
+//percentiles per flow. The flows make the same DBM calls the controllers make, so it measures the database side of each
+//screen. Fill the schema with SyntheticDataGenerator first, then run main() on the test classpath, e.g.
+//--schema loadtest --threads 4 --iterations 500
+public class LoadHarness {
+    enum Flow {
+        DASHBOARD(20),          //count and first page, like TimelineLoader
+        SCROLL(20),             //a later page of the dashboard list
+        SEARCH(25),             //Dashboard's search with a keyword and sometimes a minimum rating
+        OPEN(25),               //TimelineView opening a timeline with its events
+        EDIT(5),                //EventEditor saving an event
+        RATE(5);                //rating a timeline and reading back its average
+
+        final int weight;
+
+        Flow(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final int PAGE_SIZE = 50;            //as in TimelineLoader
+    private final int threads;
+    private final int iterations;                       //per thread, after warmup
+    private final int warmup;
+    private final Map<Flow, List<Long>> latencies = new EnumMap<>(Flow.class);
+    private List<Integer> timelineIDs;
+    private List<Integer> userIDs;
+    private int minEventID;
+    private int maxEventID;
+
+    public LoadHarness(int threads, int iterations, int warmup) {
+        this.threads = threads;
+        this.iterations = iterations;
+        this.warmup = warmup;
+        for (Flow flow : Flow.values())
+            latencies.put(flow, Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    public void run() throws Exception {
+        try (PreparedStatement stmt = DBM.prepare("SELECT TimelineID FROM timelines")) {
+            timelineIDs = DBM.getFromDB(stmt, rs -> rs.getInt(1));
+        }
+        try (PreparedStatement stmt = DBM.prepare("SELECT UserID FROM users")) {
+            userIDs = DBM.getFromDB(stmt, rs -> rs.getInt(1));
+        }
+        try (PreparedStatement stmt = DBM.prepare("SELECT MIN(EventID), MAX(EventID) FROM events")) {
+            List<int[]> range = DBM.getFromDB(stmt, rs -> new int[]{rs.getInt(1), rs.getInt(2)});
+            minEventID = range.get(0)[0];
+            maxEventID = range.get(0)[1];
+        }
+        if (timelineIDs.isEmpty() || maxEventID == 0)
+            throw new IllegalStateException("Nothing to load, fill the schema with SyntheticDataGenerator first");
+        System.out.println("Replaying against " + timelineIDs.size() + " timelines, " + userIDs.size() + " users and events "
+                + minEventID + " to " + maxEventID + " on " + threads + " threads");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                workers.add(pool.submit(() -> {
+                    try {
+                        for (int i = 0; i < warmup + iterations; i++)
+                            runOnce(i >= warmup);
+                    } finally {
+                        DBM.release();
+                    }
+                    return null;
+                }));
+            for (Future<?> worker : workers)
+                worker.get();
+        } finally {
+            pool.shutdown();
+        }
+        report((System.nanoTime() - start) / 1e9);
+    }
+
+    private void runOnce(boolean measured) throws SQLException {
+        Random random = ThreadLocalRandom.current();
+        Flow flow = pick(random);
+        long start = System.nanoTime();
+        switch (flow) {
+            case DASHBOARD:
+                Timeline.countTimelinesInDB();
+                Timeline.getTimelinesFromDB(0, PAGE_SIZE);
+                break;
+            case SCROLL:
+                Timeline.getTimelinesFromDB(randomTimeline(random), PAGE_SIZE);
+                break;
+            case SEARCH:
+                TimelineSearch search = new TimelineSearch();
+                search.setKeywords(SyntheticDataGenerator.WORDS[random.nextInt(SyntheticDataGenerator.WORDS.length)]);
+                if (random.nextBoolean())
+                    search.setMinRating(1 + random.nextInt(5));
+                search.findTimelineIDs();                   //the dashboard filters the list it already has by these
+                break;
+            case OPEN:
+                Timeline opened = Timeline.getTimelineFromDB(randomTimeline(random));
+                if (opened != null)
+                    opened.getEventList();
+                break;
+            case EDIT:
+                try (PreparedStatement stmt = DBM.prepare("SELECT * FROM events WHERE EventID = ?")) {
+                    stmt.setInt(1, minEventID + random.nextInt(maxEventID - minEventID + 1));
+                    for (Event event : DBM.getFromDB(stmt, new Event())) {
+                        event.setDescription("Edited by the load harness " + System.nanoTime());
+                        DBM.updateInDB(event);
+                    }
+                }
+                break;
+            case RATE:
+                Timeline rated = new Timeline();
+                rated.setID(randomTimeline(random));
+                rated.addRating(1 + random.nextInt(5), userIDs.get(random.nextInt(userIDs.size())));
+                rated.updateRatingFromDB();
+                break;
+        }
+        if (measured)
+            latencies.get(flow).add(System.nanoTime() - start);
+    }
+
+    private Flow pick(Random random) {
+        int total = 0;
+        for (Flow flow : Flow.values())
+            total += flow.weight;
+        int roll = random.nextInt(total);
+        for (Flow flow : Flow.values()) {
+            roll -= flow.weight;
+            if (roll < 0)
+                return flow;
+        }
+        return Flow.DASHBOARD;
+    }
+
+    private int randomTimeline(Random random) {
+        return timelineIDs.get(random.nextInt(timelineIDs.size()));
+    }
+
+    private void report(double seconds) {
+        int runs = 0;
+        System.out.println(String.format("%-10s %7s %9s %9s %9s %9s", "flow", "runs", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Flow flow : Flow.values()) {
+            List<Long> sorted = new ArrayList<>(latencies.get(flow));
+            Collections.sort(sorted);
+            runs += sorted.size();
+            if (sorted.isEmpty())
+                continue;
+            System.out.println(String.format("%-10s %7d %9.2f %9.2f %9.2f %9.2f", flow.name().toLowerCase(), sorted.size(),
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), sorted.get(sorted.size() - 1) / 1e6));
+        }
+        System.out.println(String.format("%d runs in %.1fs, %.1f per second", runs, seconds, runs / seconds));
+    }
+
+    static double percentile(List<Long> sorted, double percent) {      //nearest rank, in milliseconds
+        int rank = (int) Math.ceil(percent / 100 * sorted.size());
+        return sorted.get(Math.max(rank - 1, 0)) / 1e6;
+    }
+
+    //--schema name --threads n --iterations n (per thread) --warmup n (per thread, not measured)
+    public static void main(String[] args) throws Exception {
+        String schema = "loadtest";
+        int threads = 4;
+        int iterations = 500;
+        int warmup = 50;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--schema":
+                    schema = args[++i];
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        new DBM(schema);
+        DBM.setupIfNeeded();
+        new LoadHarness(Math.min(threads, DBM.POOL_SIZE - 1), iterations, warmup).run();    //one connection stays with this thread
+        DBM.close();
+    }
+}
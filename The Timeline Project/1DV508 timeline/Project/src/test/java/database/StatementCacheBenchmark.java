@@ -0,0 +1,78 @@
+package database;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileNotFoundException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//Per-call latency of repeated event edits with the statement cache on (64) and off (0), needs the local test database
+//Run main() on the test classpath (e.g. from the IDE) after mvn test-compile, results print per cache size
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementCacheBenchmark {
+    static final private String SCHEMA = "benchmark";
+
+    @Param({"0", "64"})
+    private int statementCacheSize;
+
+    private Event event;
+    private Timeline timeline;
+    private int edits = 0;
+
+    @Setup(Level.Trial)
+    public void init() throws FileNotFoundException, SQLException {
+        new DBM(SCHEMA);
+        DBM.setupSchema();
+        DBM.createTestData();
+        DBM.getPool().setStatementCacheSize(statementCacheSize);
+
+        try (PreparedStatement stmt = DBM.prepare("SELECT * FROM events WHERE EventID = 1")) {
+            event = DBM.getFromDB(stmt, new Event()).get(0);
+        }
+        List<Timeline> timelines = Timeline.getTimelinesFromDB();
+        timeline = timelines.get(timelines.size() - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void finish() throws SQLException {
+        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
+        DBM.close();
+    }
+
+    @Benchmark
+    public void editEvent() throws SQLException {                   //what EventEditor does on save
+        event.setDescription("Edit " + edits++);
+        DBM.updateInDB(event);
+    }
+
+    @Benchmark
+    public boolean moveEventBetweenTimelines() throws SQLException {  //what EventSelector does when toggling an event on a timeline
+        boolean added = event.addToTimeline(timeline.getID());
+        try (PreparedStatement stmt = DBM.prepare("DELETE FROM `timelineevents` WHERE EventID = ? AND TimelineID = ?")) {
+            stmt.setInt(1, event.getID());
+            stmt.setInt(2, timeline.getID());
+            stmt.executeUpdate();
+        }
+        return added;
+    }
+
+    @Benchmark
+    public double readRating() throws SQLException {
+        timeline.updateRatingFromDB();
+        return timeline.getRating();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StatementCacheBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,246 @@
+package database;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+//Fills a schema with made up users, timelines, events and ratings in whatever volume is asked for, to see how the app
+//holds up past the ten demo timelines. Everything goes in through DBM batch inserts, a timeline's worth of events at a
+//time so memory stays flat however big it gets. Timelines cycle through all the scales, each spanning a few hundred to a
+//few thousand of its units, so dates run from milliseconds apart to millennia apart
+//Run main() on the test classpath after mvn test-compile, e.g. --schema loadtest --timelines 2000 --events 500
+public class SyntheticDataGenerator {
+    static final String[] WORDS = {"ancient", "battle", "comet", "dynasty", "empire", "festival", "glacier",
+            "harbour", "invention", "journey", "kingdom", "legend", "market", "nebula", "ocean", "plague", "quarry",
+            "revolution", "satellite", "treaty", "uprising", "voyage", "war", "expedition", "yearbook", "zenith"};
+    private static final ChronoUnit[] UNITS = {ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS,
+            ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS, ChronoUnit.DECADES, ChronoUnit.CENTURIES,
+            ChronoUnit.MILLENNIA};             //index + 1 is the scale, as in DateUtils.distanceBetween
+    private static final String IMAGE_FOLDER = "src/main/resources/images/synthetic/";
+    private static final int IMAGE_VARIANTS = 16;       //distinct image files, each timeline and event picks one at random
+
+    private int users = 100;
+    private int timelines = 200;
+    private int eventsPerTimeline = 100;
+    private int ratingsPerTimeline = 10;
+    private int imageSize = 0;                          //width and height of generated images in pixels, 0 for no images
+    private final Random random;
+    private List<Integer> userIDs;
+    private List<String> images;
+
+    public SyntheticDataGenerator(long seed) {          //same seed and settings give the same data
+        random = new Random(seed);
+    }
+
+    public void generate() throws SQLException, IOException {
+        long start = System.nanoTime();
+        images = makeImages();
+        userIDs = insertUsers();
+        System.out.println("Inserted " + users + " users in " + (System.nanoTime() - start) / 1000000 + "ms");
+
+        long phase = System.nanoTime();
+        for (int i = 0; i < timelines; i++) {
+            insertTimeline(i);
+            if ((i + 1) % 100 == 0 || i + 1 == timelines)
+                System.out.println("Inserted " + (i + 1) + "/" + timelines + " timelines, " + (long) (i + 1) * eventsPerTimeline
+                        + " events, " + (i + 1) * 1000L / Math.max((System.nanoTime() - phase) / 1000000, 1) + " timelines/s");
+        }
+        System.out.println("Generated everything in " + (System.nanoTime() - start) / 1000000 + "ms");
+    }
+
+    private List<Integer> insertUsers() throws SQLException {
+        User template = new User("Template", "template@synthetic.test", "Passw0rd!");  //hashing is slow on purpose, so everyone shares one
+        List<Integer> out = new ArrayList<>();
+        DBM.conn.setAutoCommit(false);
+        try (PreparedStatement stmt = DBM.prepare("INSERT INTO `users` (`UserName`, `UserEmail`, `Password`, `Salt`) VALUES (?,?,?,?)",
+                PreparedStatement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < users; i++) {
+                stmt.setString(1, capitalize(word()) + " " + capitalize(word()) + " " + i);
+                stmt.setString(2, "user" + i + "@synthetic.test");
+                stmt.setString(3, template.getEncryptedForTest());
+                stmt.setString(4, template.getSaltForTest());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            DBM.conn.commit();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                while (keys.next())
+                    out.add(keys.getInt(1));
+            }
+        } finally {
+            DBM.conn.setAutoCommit(true);
+        }
+        return out;
+    }
+
+    private void insertTimeline(int index) throws SQLException {
+        int scale = index % UNITS.length + 1;
+        ChronoUnit unit = UNITS[scale - 1];
+        long columns = 200 + random.nextInt(2000);
+        LocalDateTime from = startFor(unit);
+        LocalDateTime to = from.plus(columns, unit);
+
+        Timeline timeline = new Timeline();
+        timeline.setName(capitalize(word()) + " of the " + word() + " " + index);
+        timeline.setDescription("Synthetic timeline " + index + " about " + word() + " and " + word());
+        timeline.setKeywords(new ArrayList<>(Arrays.asList(word(), word(), word())));
+        timeline.setScale(scale);
+        timeline.setStartDate(from);
+        timeline.setEndDate(to);
+        timeline.setOwnerID(userIDs.get(random.nextInt(userIDs.size())));
+        timeline.setImage(image());
+        DBM.insertIntoDB(timeline);
+
+        List<Event> events = new ArrayList<>(eventsPerTimeline);
+        for (int i = 0; i < eventsPerTimeline; i++) {
+            Event event = new Event();
+            long startColumn = (long) (random.nextDouble() * columns);
+            long length = random.nextInt(4) == 0 ? 0 : (long) (random.nextDouble() * random.nextDouble() * (columns - startColumn));
+            event.setName(capitalize(word()) + " " + i);
+            event.setDescription("The " + word() + " " + word() + " of " + word());
+            event.setStartDate(from.plus(startColumn, unit));
+            event.setEndDate(from.plus(startColumn + length, unit));
+            event.setEventPriority(random.nextInt(4));
+            event.setOwnerID(timeline.getOwnerID());
+            event.setImage(image());
+            events.add(event);
+        }
+        if (!events.isEmpty()) {                                //--events 0 makes timelines without any
+            DBM.insertIntoDB(events);
+            try (PreparedStatement stmt = DBM.prepare("INSERT INTO `timelineevents` (`TimelineID`, `EventID`) VALUES (?, ?)")) {
+                stmt.setInt(1, timeline.getID());
+                for (Event e : events) {
+                    stmt.setInt(2, e.getID());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        try (PreparedStatement stmt = DBM.prepare("INSERT IGNORE INTO `ratings` (`Rating`, `UserID`, `TimeLineID`) VALUES (?, ?, ?)")) {
+            stmt.setInt(3, timeline.getID());                   //IGNORE, a rater drawn twice only counts once
+            for (int i = 0; i < Math.min(ratingsPerTimeline, userIDs.size()); i++) {
+                stmt.setInt(1, 1 + random.nextInt(5));
+                stmt.setInt(2, userIDs.get(random.nextInt(userIDs.size())));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private LocalDateTime startFor(ChronoUnit unit) {      //somewhere a timeline of that scale would plausibly start
+        if (unit.compareTo(ChronoUnit.YEARS) >= 0)
+            return LocalDateTime.of(-20000 + random.nextInt(20000), 1, 1, 0, 0);
+        return LocalDateTime.of(1900 + random.nextInt(120), 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60));
+    }
+
+    private List<String> makeImages() throws IOException {
+        List<String> out = new ArrayList<>();
+        if (imageSize <= 0)
+            return out;
+        new File(IMAGE_FOLDER).mkdirs();
+        for (int i = 0; i < IMAGE_VARIANTS; i++) {
+            BufferedImage image = new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_RGB);
+            int base = random.nextInt(0xFFFFFF);
+            for (int y = 0; y < imageSize; y++)
+                for (int x = 0; x < imageSize; x++)             //a gradient with some noise, compresses about like a photo would
+                    image.setRGB(x, y, base + (x * 255 / imageSize << 8) + y * 255 / imageSize ^ random.nextInt(16));
+            File file = new File(IMAGE_FOLDER + "synthetic_" + imageSize + "_" + i + ".png");
+            ImageIO.write(image, "png", file);
+            out.add(IMAGE_FOLDER + file.getName());
+        }
+        return out;
+    }
+
+    private String image() {
+        return images.isEmpty() ? null : images.get(random.nextInt(images.size()));
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public void setUsers(int users) {
+        this.users = Math.max(users, 1);
+    }
+
+    public void setTimelines(int timelines) {
+        this.timelines = timelines;
+    }
+
+    public void setEventsPerTimeline(int eventsPerTimeline) {
+        this.eventsPerTimeline = eventsPerTimeline;
+    }
+
+    public void setRatingsPerTimeline(int ratingsPerTimeline) {
+        this.ratingsPerTimeline = ratingsPerTimeline;
+    }
+
+    public void setImageSize(int imageSize) {
+        this.imageSize = imageSize;
+    }
+
+    //--schema name --reset --seed n --users n --timelines n --events n (per timeline) --ratings n (per timeline) --image-size px
+    public static void main(String[] args) throws SQLException, IOException {
+        String schema = "loadtest";
+        boolean reset = false;
+        long seed = 1;
+        List<String[]> settings = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--reset"))
+                reset = true;
+            else if (args[i].equals("--schema"))
+                schema = args[++i];
+            else if (args[i].equals("--seed"))
+                seed = Long.parseLong(args[++i]);
+            else
+                settings.add(new String[]{args[i], args[++i]});
+        }
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed);
+        for (String[] setting : settings) {
+            int value = Integer.parseInt(setting[1]);
+            switch (setting[0]) {
+                case "--users":
+                    generator.setUsers(value);
+                    break;
+                case "--timelines":
+                    generator.setTimelines(value);
+                    break;
+                case "--events":
+                    generator.setEventsPerTimeline(value);
+                    break;
+                case "--ratings":
+                    generator.setRatingsPerTimeline(value);
+                    break;
+                case "--image-size":
+                    generator.setImageSize(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + setting[0]);
+            }
+        }
+
+        new DBM(schema);
+        if (reset)
+            DBM.setupSchema();
+        else
+            DBM.setupIfNeeded();
+        generator.generate();
+        DBM.close();
+    }
+}
@@ -0,0 +1,110 @@
+package database;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimelineSearchTest {
+    static final private String SCHEMA = "test";
+    static private int testCount = 0;
+    static private List<Timeline> timelines;
+
+    @BeforeAll
+    static void init() throws FileNotFoundException, SQLException {
+        new DBM(SCHEMA);
+        DBM.setupSchema();
+        DBM.createTestData();
+        timelines = Timeline.getTimelinesFromDB();
+    }
+
+    @AfterAll
+    static void finish() throws SQLException {
+        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
+        DBM.conn.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        testCount++;
+        System.out.println("Test " + testCount);
+    }
+
+    private Set<Integer> expected(Predicate<Timeline> filter) {     //what filtering the loaded timelines in Java gives
+        return timelines.stream().filter(filter).map(Timeline::getID).collect(Collectors.toSet());
+    }
+
+    @Test
+    void noCriteriaMatchesEverything() throws SQLException {
+        assertEquals(expected(t -> true), new TimelineSearch().findTimelineIDs());
+    }
+
+    @Test
+    void nameIsCaseInsensitive() throws SQLException {
+        TimelineSearch search = new TimelineSearch();
+        search.setName("ROME");
+        Set<Integer> actual = search.findTimelineIDs();
+
+        assertFalse(actual.isEmpty());
+        assertEquals(expected(t -> t.getName().toLowerCase().contains("rome")), actual);
+    }
+
+    @Test
+    void wildcardsMatchLiterally() throws SQLException {
+        TimelineSearch search = new TimelineSearch();
+        search.setName("%");
+        assertEquals(expected(t -> t.getName().contains("%")), search.findTimelineIDs());
+
+        search.setName("_");
+        assertEquals(expected(t -> t.getName().contains("_")), search.findTimelineIDs());
+    }
+
+    @Test
+    void creator() throws SQLException {
+        TimelineSearch search = new TimelineSearch();
+        search.setCreator("ben");
+        Set<Integer> actual = search.findTimelineIDs();
+
+        assertEquals(expected(t -> t.getOwner().getUserName().toLowerCase().contains("ben")), actual);
+    }
+
+    @Test
+    void everyKeywordMustMatch() throws SQLException {
+        TimelineSearch search = new TimelineSearch();
+        search.setKeywords("test stuff");
+        Set<Integer> actual = search.findTimelineIDs();
+
+        assertFalse(actual.isEmpty());
+        assertEquals(expected(t -> String.join(",", t.getKeywords()).toLowerCase().contains("test")
+                && String.join(",", t.getKeywords()).toLowerCase().contains("stuff")), actual);
+    }
+
+    @Test
+    void dateRange() throws SQLException {
+        LocalDateTime from = LocalDateTime.of(1000, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2006, 5, 20, 4, 43, 32, 213000000);
+        TimelineSearch search = new TimelineSearch();
+        search.setStartsAfter(from);
+        search.setEndsBefore(to);
+
+        assertEquals(expected(t -> !t.getStartDate().isBefore(from) && !t.getEndDate().isAfter(to)), search.findTimelineIDs());
+    }
+
+    @Test
+    void minimumRatingRoundsUp() throws SQLException {
+        TimelineSearch search = new TimelineSearch();
+        search.setMinRating(3);
+
+        assertEquals(expected(t -> Math.ceil(t.getRating()) >= 3), search.findTimelineIDs());
+    }
+}
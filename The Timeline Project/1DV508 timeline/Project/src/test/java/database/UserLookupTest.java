@@ -0,0 +1,89 @@
+package database;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Checking that an email is free at a million users, in a schema of its own since filling it takes a while
+class UserLookupTest {
+    static final private String SCHEMA = "userlookuptest";
+    static private int users = 0;
+
+    @BeforeAll
+    static void init() throws SQLException {
+        new DBM(SCHEMA);
+        DBM.setupSchema();
+    }
+
+    @AfterAll
+    static void finish() throws SQLException {
+        DBM.conn.createStatement().execute("DROP DATABASE IF EXISTS " + SCHEMA);
+        DBM.close();
+    }
+
+    @Test
+    void validationDoesNotGrowWithUsers() throws SQLException {
+        addUsers(1000);
+        double atThousand = millisPerCheck();
+        addUsers(1000000 - users);
+        double atMillion = millisPerCheck();
+        System.out.println(String.format("validateUnique: %.3fms at 1k users, %.3fms at 1M", atThousand, atMillion));
+
+        assertFalse(User.validateUnique("USER999999@Lookup.Test"));        //taken, whatever the case
+        assertTrue(User.validateUnique("user1000000@lookup.test"));
+        try (ResultSet plan = DBM.conn.createStatement().executeQuery(
+                "EXPLAIN SELECT 1 FROM `users` WHERE `UserEmail` = 'user500000@lookup.test' LIMIT 1")) {
+            plan.next();
+            assertEquals("const", plan.getString("type"));                  //one row through the unique key, not a scan
+            assertEquals("UserEmail_UNIQUE", plan.getString("key"));
+        }
+        assertTrue(atMillion < atThousand * 3 + 0.5);                       //a thousand times the users, about the same time
+    }
+
+    @Test
+    void secondRegistrationIsTurnedAway() throws SQLException {
+        addUsers(1);
+        User sameEmail = new User("Late", "USER0@lookup.test", "Passw0rd!");     //passed validateUnique before the first was inserted
+
+        SQLException e = assertThrows(SQLException.class, () -> DBM.insertIntoDB(sameEmail));
+        assertTrue(DBM.violatesConstraint(e));
+    }
+
+    private static void addUsers(int count) throws SQLException {           //the same throwaway hash for all, nobody logs in
+        DBM.conn.setAutoCommit(false);
+        try (PreparedStatement stmt = DBM.prepare("INSERT INTO `users` (`UserName`, `UserEmail`, `Password`, `Salt`) VALUES (?,?,?,?)")) {
+            for (int i = 0; i < count; i++, users++) {
+                stmt.setString(1, "User " + users);
+                stmt.setString(2, "user" + users + "@lookup.test");
+                stmt.setString(3, "x");
+                stmt.setString(4, "x");
+                stmt.addBatch();
+                if (i % 10000 == 9999) {
+                    stmt.executeBatch();
+                    DBM.conn.commit();
+                }
+            }
+            stmt.executeBatch();
+            DBM.conn.commit();
+        } finally {
+            DBM.conn.setAutoCommit(true);
+        }
+    }
+
+    private static double millisPerCheck() throws SQLException {            //half taken emails, half free ones
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++)                                       //warm up
+            User.validateUnique("user" + random.nextInt(users * 2) + "@lookup.test");
+        long start = System.nanoTime();
+        for (int i = 0; i < 1000; i++)
+            User.validateUnique("user" + random.nextInt(users * 2) + "@lookup.test");
+        return (System.nanoTime() - start) / 1e6 / 1000;
+    }
+}
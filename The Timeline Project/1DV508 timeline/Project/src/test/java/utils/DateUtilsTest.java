@@ -0,0 +1,49 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateUtilsTest {
+    @Test
+    void sortKeyLayout() {
+        assertEquals(new BigDecimal("20200517134502123"), DateUtils.sortKey(LocalDateTime.of(2020, 5, 17, 13, 45, 2, 123000000)));
+        assertEquals(new BigDecimal("101000000000"), DateUtils.sortKey(LocalDateTime.of(0, 1, 1, 0, 0)));
+    }
+
+    @Test
+    void sortKeyOrdersLikeDates() {
+        List<LocalDateTime> dates = Arrays.asList(
+                LocalDateTime.of(-999999999, 1, 1, 0, 0),
+                LocalDateTime.of(-44, 3, 15, 12, 0),
+                LocalDateTime.of(-44, 12, 31, 23, 59, 59, 999000000),
+                LocalDateTime.of(-1, 12, 31, 23, 59),
+                LocalDateTime.of(0, 1, 1, 0, 0),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999000000),
+                LocalDateTime.of(1970, 1, 1, 0, 0),
+                LocalDateTime.of(2020, 5, 17, 13, 45, 2, 1000000),
+                LocalDateTime.of(2020, 5, 17, 13, 45, 2, 2000000),
+                LocalDateTime.of(999999999, 12, 31, 23, 59, 59, 999000000));
+
+        List<LocalDateTime> byKey = new ArrayList<>(dates);
+        Collections.shuffle(byKey, new Random(1));
+        byKey.sort(Comparator.comparing(DateUtils::sortKey));
+
+        assertEquals(dates, byKey);
+    }
+
+    @Test
+    void sortKeyFitsColumn() {             //DECIMAL(23,0)
+        assertTrue(DateUtils.sortKey(LocalDateTime.of(999999999, 12, 31, 23, 59, 59, 999000000)).precision() <= 23);
+        assertTrue(DateUtils.sortKey(LocalDateTime.of(-999999999, 1, 1, 0, 0)).precision() <= 23);
+    }
+}
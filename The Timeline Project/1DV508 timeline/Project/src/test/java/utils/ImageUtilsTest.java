@@ -0,0 +1,60 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUtilsTest {
+    @Test
+    void samePictureIsStoredOnce() throws IOException {
+        String store = Files.createTempDirectory("store").toString().replace('\\', '/') + "/";
+        byte[] picture = ImageVariantsTest.png(40, 20);
+
+        String first = ImageUtils.saveImage(new ByteArrayInputStream(picture), "src/main/resources/images/event/Picture.PNG", store);
+        String second = ImageUtils.saveImage(new ByteArrayInputStream(picture), "copy of picture.png", store);
+        String misnamed = ImageUtils.saveImage(new ByteArrayInputStream(picture), "picture.jpeg", store);
+        String unnamed = ImageUtils.saveImage(new ByteArrayInputStream(picture), "picture", store);
+        String other = ImageUtils.saveImage(new ByteArrayInputStream(ImageVariantsTest.png(20, 40)), "Picture.PNG", store);
+
+        assertEquals(first, second);
+        assertEquals(first, misnamed);                                          //the name doesn't matter, only what's in it
+        assertEquals(first, unnamed);
+        assertNotEquals(first, other);
+        assertTrue(first.startsWith(store) && first.endsWith(".png"));
+        assertArrayEquals(picture, Files.readAllBytes(Paths.get(first)));
+        assertEquals(1, new File(first).getParentFile().list().length);       //no leftover upload
+    }
+
+    @Test
+    void storedPathFansOutByHash() {
+        byte[] digest = new byte[32];
+        digest[0] = (byte) 0xab;
+        digest[1] = 0x01;
+        String hash = "ab01" + "0".repeat(60);
+
+        assertEquals("store/ab/01/" + hash + ".jpg", ImageUtils.storedPath("store/", digest, ".jpg"));
+        assertEquals("store/ab/01/" + hash, ImageUtils.storedPath("store/", digest, ""));
+    }
+
+    @Test
+    void extensionComesFromFormat() throws IOException {
+        Path jpeg = Files.createTempFile("picture", ".jpeg");
+        Path text = Files.createTempFile("picture", ".png");
+        ImageIO.write(new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB), "jpg", jpeg.toFile());
+        Files.writeString(text, "not a picture");
+
+        assertEquals(".jpg", ImageUtils.extensionOf(jpeg));             //one extension per format
+        assertEquals("", ImageUtils.extensionOf(text));
+        Files.delete(jpeg);
+        Files.delete(text);
+    }
+}
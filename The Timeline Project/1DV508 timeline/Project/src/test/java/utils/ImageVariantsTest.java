@@ -0,0 +1,45 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+import utils.ImageVariants.Variant;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageVariantsTest {
+    @Test
+    void savingMakesSmallerVersions() throws IOException {
+        String store = Files.createTempDirectory("variants").toString().replace('\\', '/') + "/";
+        String saved = ImageUtils.saveImage(new ByteArrayInputStream(png(2500, 1000)), "Big Picture.png", store);
+
+        assertTrue(saved.matches(".*/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png"));
+        assertEquals(600, ImageIO.read(new File(ImageVariants.pathOf(saved, Variant.PREVIEW))).getWidth());
+        assertEquals(1920, ImageIO.read(new File(ImageVariants.pathOf(saved, Variant.CELL))).getWidth());
+        assertEquals(768, ImageIO.read(new File(ImageVariants.pathOf(saved, Variant.CELL))).getHeight());
+        assertFalse(new File(ImageVariants.pathOf(saved, Variant.FULL)).exists());      //smaller than that already
+
+        assertEquals(ImageVariants.pathOf(saved, Variant.PREVIEW), ImageVariants.pathFor(saved, 300));
+        assertEquals(ImageVariants.pathOf(saved, Variant.CELL), ImageVariants.pathFor(saved, 1200));
+        assertEquals(saved, ImageVariants.pathFor(saved, Variant.FULL));
+
+        ImageUtils.deleteImage(saved);
+        assertEquals(0, new File(saved).getParentFile().list().length);
+    }
+
+    static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                image.setRGB(x, y, 0xFF000000 | x * 255 / width << 16 | y * 255 / height);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
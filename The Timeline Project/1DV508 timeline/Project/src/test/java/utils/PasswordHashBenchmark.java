@@ -0,0 +1,61 @@
+package utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+//Time to hash one password at several iteration counts, for picking PasswordEncryption.ITERATIONS
+//Run main() on the test classpath after mvn test-compile. With a budget, e.g. --budget 250 (ms a login may take to hash),
+//it skips JMH and prints the highest count that fits on this machine instead
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+    @Param({"10000", "50000", "100000", "210000"})
+    private int iterations;
+
+    private final byte[] salt = PasswordEncryption.getSalt(30).getBytes();
+
+    @Benchmark
+    public byte[] hash() {
+        return PasswordEncryption.hash("#Johnny69".toCharArray(), salt, iterations);
+    }
+
+    static double millisPerHash(int iterations, int runs) {        //the fastest of a few runs, the others caught a GC or the JIT
+        byte[] salt = PasswordEncryption.getSalt(30).getBytes();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            PasswordEncryption.hash("#Johnny69".toCharArray(), salt, iterations);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    //Hashing takes time in proportion to the count, so a measurement scales to the budget. Scaled twice, the first
+    //guess is measured while the JIT is still settling. Rounded down to a thousand
+    static int calibrate(double budgetMillis) {
+        millisPerHash(PasswordEncryption.ITERATIONS, 20);          //warm up
+        int iterations = PasswordEncryption.ITERATIONS;
+        for (int i = 0; i < 2; i++)
+            iterations = (int) (iterations * budgetMillis / millisPerHash(iterations, 5));
+        return iterations / 1000 * 1000;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        if (args.length == 2 && args[0].equals("--budget")) {
+            double budget = Double.parseDouble(args[1]);
+            int iterations = calibrate(budget);
+            System.out.println(String.format("%d iterations fit %.0fms here (%.1fms measured), currently %d at %.1fms", iterations, budget,
+                    millisPerHash(iterations, 5), PasswordEncryption.ITERATIONS, millisPerHash(PasswordEncryption.ITERATIONS, 5)));
+            return;
+        }
+        new Runner(new OptionsBuilder().include(PasswordHashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,64 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PngStreamWriterTest {
+    @Test
+    void readsBackTheSamePixels() throws IOException {
+        int width = 301;
+        int height = 157;
+        int[] pixels = new int[width * height];
+        Random random = new Random(3);
+        for (int i = 0; i < pixels.length; i++)             //noise and flat runs, so both compress differently
+            pixels[i] = i % 97 < 50 ? random.nextInt() : 0xFF336699;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PngStreamWriter png = new PngStreamWriter(bytes, width, height)) {
+            for (int y = 0; y < height; y++)
+                png.writeRow(pixels, y * width);
+        }
+
+        BufferedImage read = ImageIO.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(width, read.getWidth());
+        assertEquals(height, read.getHeight());
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++)
+                assertEquals(pixels[y * width + x], read.getRGB(x, y));
+    }
+
+    @Test
+    void spreadsLargeImagesOverChunks() throws IOException {
+        int width = 4000;
+        int[] noise = new int[width];
+        Random random = new Random(5);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PngStreamWriter png = new PngStreamWriter(bytes, width, 100)) {
+            for (int y = 0; y < 100; y++) {
+                for (int x = 0; x < width; x++)
+                    noise[x] = random.nextInt();
+                png.writeRow(noise, 0);
+            }
+        }
+        assertTrue(bytes.size() > 1 << 17);                 //several IDAT chunks' worth
+        BufferedImage read = ImageIO.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(noise[width - 1], read.getRGB(width - 1, 99));
+    }
+
+    @Test
+    void mustGetEveryRow() throws IOException {
+        PngStreamWriter png = new PngStreamWriter(new ByteArrayOutputStream(), 10, 2);
+        png.writeRow(new int[10], 0);
+        assertThrows(IllegalStateException.class, png::close);
+        png.writeRow(new int[10], 0);
+        assertThrows(IllegalStateException.class, () -> png.writeRow(new int[10], 0));
+    }
+}
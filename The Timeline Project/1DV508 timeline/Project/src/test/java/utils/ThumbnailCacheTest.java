@@ -0,0 +1,94 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThumbnailCacheTest {
+    @Test
+    void decodesAtWidthAndCutsAroundTheMiddle() throws IOException {
+        File file = image(1600, 1200);                      //red top half, blue bottom half
+
+        BufferedImage thumbnail = ThumbnailCache.decode(file, 160, 40);
+        assertEquals(160, thumbnail.getWidth());
+        assertEquals(40, thumbnail.getHeight());
+        assertEquals(Color.RED.getRGB(), thumbnail.getRGB(80, 2));
+        assertEquals(Color.BLUE.getRGB(), thumbnail.getRGB(80, 37));
+    }
+
+    @Test
+    void shortImagesKeepTheirShape() throws IOException {
+        File file = image(800, 200);
+
+        BufferedImage thumbnail = ThumbnailCache.decode(file, 400, 400);
+        assertEquals(400, thumbnail.getWidth());
+        assertEquals(100, thumbnail.getHeight());
+    }
+
+    @Test
+    void sharesAndEvictsLeastRecentlyUsed() throws IOException {
+        ThumbnailCache sut = new ThumbnailCache(100 * 50 * 2, 1, image -> null);     //room for two
+        String a = image(200, 100).getPath();
+        String b = image(200, 100).getPath();
+        String c = image(200, 100).getPath();
+
+        CompletableFuture<?> first = sut.get(a, 100, 50);
+        assertSame(first, sut.get(a, 100, 50));
+        first.join();
+        sut.get(b, 100, 50).join();
+        sut.get(a, 100, 50);                                //a is now more recent than b
+        sut.get(c, 100, 50).join();
+
+        assertEquals(2, sut.size());
+        assertEquals(100 * 50 * 2, sut.getPixels());
+        assertSame(first, sut.get(a, 100, 50));
+        assertNotSame(sut.get(b, 100, 50), sut.get(b, 100, 25));   //each size is its own thumbnail
+    }
+
+    @Test
+    void readsSmallestVariantUnderOriginalsPath() throws IOException {
+        ThumbnailCache sut = new ThumbnailCache(10_000_000, 1, image -> null);
+        String store = Files.createTempDirectory("thumbnails").toString().replace('\\', '/') + "/";
+        String saved = ImageUtils.saveImage(new ByteArrayInputStream(ImageVariantsTest.png(2500, 1000)), "Big.png", store);
+        new File(saved).delete();                           //only the variants are left to read from
+
+        sut.get(saved, 300, 100).join();
+        assertEquals(300 * 100, sut.getPixels());
+        sut.forget(saved);
+        assertEquals(0, sut.size());
+        ImageUtils.deleteImage(saved);
+    }
+
+    @Test
+    void missingFilesFail() {
+        ThumbnailCache sut = new ThumbnailCache(1000, 1, image -> null);
+        CompletableFuture<?> missing = sut.get("no/such/image.png", 100, 50);
+        assertThrows(Exception.class, missing::join);
+        assertTrue(missing.isCompletedExceptionally());
+    }
+
+    private static File image(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, width, height / 2);
+        g.setColor(Color.BLUE);
+        g.fillRect(0, height / 2, width, height - height / 2);
+        g.dispose();
+
+        File file = File.createTempFile("thumbnail", ".png");
+        file.deleteOnExit();
+        ImageIO.write(image, "png", file);
+        return file;
+    }
+}
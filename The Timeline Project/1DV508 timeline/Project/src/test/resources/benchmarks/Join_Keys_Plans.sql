@@ -0,0 +1,178 @@
+-- Query plans of the join table lookups before and after the keys in Migration_Join_Keys.sql, at 100k events
+-- Builds two throwaway schemas holding the same data and only the columns and keys that matter, then EXPLAINs
+-- the old and new forms of each query against them. Runs on MySQL 8 or MariaDB 10.3+:
+--     mysql -u root -p -t < src/test/resources/benchmarks/Join_Keys_Plans.sql
+-- Compare the type, key and rows columns of each pair, ALL or a full index scan over 100k rows is what the keys remove
+
+DROP DATABASE IF EXISTS plans_before;
+DROP DATABASE IF EXISTS plans_after;
+CREATE DATABASE plans_before;
+CREATE DATABASE plans_after;
+
+USE plans_before;
+
+CREATE TABLE digits (d int NOT NULL PRIMARY KEY);
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+CREATE TABLE users
+(
+    UserID int NOT NULL PRIMARY KEY
+);
+
+CREATE TABLE timelines
+(
+    TimelineID    int NOT NULL PRIMARY KEY,
+    TimelineOwner int NOT NULL
+);
+
+CREATE TABLE events
+(
+    EventID    int NOT NULL PRIMARY KEY,
+    EventOwner int NOT NULL
+);
+
+-- as in the creation script before the change, the foreign key on TimelineID gets an implicit single column index
+CREATE TABLE timelineevents
+(
+    TimelineID int NOT NULL,
+    EventID    int NOT NULL,
+    CONSTRAINT pK_timelinesevent PRIMARY KEY (EventID, TimelineID),
+    CONSTRAINT fk_timelineevents_events1 FOREIGN KEY (EventID) REFERENCES events (EventID) ON DELETE CASCADE,
+    CONSTRAINT fk_timelineevents_timelines FOREIGN KEY (TimelineID) REFERENCES timelines (TimelineID) ON DELETE CASCADE
+);
+
+CREATE TABLE ratings
+(
+    UserID     int NOT NULL,
+    TimeLineID int NOT NULL,
+    Rating     int NOT NULL,
+    KEY UserID_idx (UserID),
+    KEY TimeLineID_idx (TimeLineID),
+    CONSTRAINT TimeLineID FOREIGN KEY (TimeLineID) REFERENCES timelines (TimelineID) ON DELETE CASCADE,
+    CONSTRAINT UserID FOREIGN KEY (UserID) REFERENCES users (UserID) ON DELETE CASCADE
+);
+
+-- 100 users, 1000 timelines and 100k events, each event on one timeline and every tenth one shared with a second
+INSERT INTO users
+SELECT 1 + a.d + 10 * b.d
+FROM digits a, digits b;
+
+INSERT INTO timelines
+SELECT 1 + a.d + 10 * b.d + 100 * c.d, 1 + a.d
+FROM digits a, digits b, digits c;
+
+INSERT INTO events
+SELECT 1 + a.d + 10 * b.d + 100 * c.d + 1000 * d.d + 10000 * e.d, 1 + a.d
+FROM digits a, digits b, digits c, digits d, digits e;
+
+INSERT INTO timelineevents
+SELECT EventID % 1000 + 1, EventID
+FROM events;
+
+INSERT IGNORE INTO timelineevents
+SELECT EventID * 7 % 1000 + 1, EventID
+FROM events
+WHERE EventID % 10 = 0;
+
+-- about a third of the first 50 users rate each timeline
+INSERT INTO ratings
+SELECT u.UserID, t.TimelineID, (u.UserID + t.TimelineID) % 5 + 1
+FROM users u, timelines t
+WHERE u.UserID <= 50 AND (u.UserID + t.TimelineID) % 3 = 0;
+
+USE plans_after;
+
+CREATE TABLE users LIKE plans_before.users;
+CREATE TABLE timelines LIKE plans_before.timelines;
+CREATE TABLE events LIKE plans_before.events;
+
+CREATE TABLE timelineevents
+(
+    TimelineID int NOT NULL,
+    EventID    int NOT NULL,
+    CONSTRAINT pK_timelinesevent PRIMARY KEY (EventID, TimelineID),
+    KEY TimelineID_idx (TimelineID, EventID),
+    CONSTRAINT fk_timelineevents_events1 FOREIGN KEY (EventID) REFERENCES events (EventID) ON DELETE CASCADE,
+    CONSTRAINT fk_timelineevents_timelines FOREIGN KEY (TimelineID) REFERENCES timelines (TimelineID) ON DELETE CASCADE
+);
+
+CREATE TABLE ratings
+(
+    UserID     int NOT NULL,
+    TimeLineID int NOT NULL,
+    Rating     int NOT NULL,
+    PRIMARY KEY (TimeLineID, UserID),
+    KEY UserID_idx (UserID),
+    CONSTRAINT TimeLineID FOREIGN KEY (TimeLineID) REFERENCES timelines (TimelineID) ON DELETE CASCADE,
+    CONSTRAINT UserID FOREIGN KEY (UserID) REFERENCES users (UserID) ON DELETE CASCADE
+);
+
+INSERT INTO users SELECT * FROM plans_before.users;
+INSERT INTO timelines SELECT * FROM plans_before.timelines;
+INSERT INTO events SELECT * FROM plans_before.events;
+INSERT INTO timelineevents SELECT * FROM plans_before.timelineevents;
+INSERT INTO ratings SELECT * FROM plans_before.ratings;
+
+ANALYZE TABLE plans_before.timelineevents, plans_before.ratings, plans_after.timelineevents, plans_after.ratings;
+
+-- Timeline.deleteOrphans, before: NOT IN subquery over every other timeline's junction records
+USE plans_before;
+EXPLAIN
+DELETE e.* FROM timelines t
+    LEFT JOIN timelineevents te ON t.TimelineID = te.TimelineID
+    LEFT JOIN events e ON te.EventID = e.EventID AND e.EventID NOT IN (SELECT EventID FROM timelineevents WHERE TimelineID != 500)
+WHERE t.TimelineID = 500 AND e.EventID IS NOT NULL;
+
+-- Timeline.deleteOrphans, after: anti-join probing the primary key once per event on the timeline
+USE plans_after;
+EXPLAIN
+DELETE e FROM timelineevents te
+    INNER JOIN events e ON te.EventID = e.EventID
+    LEFT JOIN timelineevents other ON te.EventID = other.EventID AND other.TimelineID != te.TimelineID
+WHERE te.TimelineID = 500 AND other.EventID IS NULL;
+
+-- Event.deleteIfOrphan, before and after
+USE plans_before;
+EXPLAIN
+DELETE e FROM events e
+    LEFT JOIN timelineevents t ON e.EventID = t.EventID
+WHERE t.TimelineID IS NULL AND e.EventID = 12345;
+
+USE plans_after;
+EXPLAIN
+DELETE FROM events
+WHERE EventID = 12345 AND NOT EXISTS (SELECT 1 FROM timelineevents WHERE EventID = 12345);
+
+-- Timeline.getHydratedFromDB loading a page of timelines' events, before and after
+USE plans_before;
+EXPLAIN
+SELECT te.TimelineID AS ParentTimelineID, e.* FROM timelineevents te
+    INNER JOIN events e ON te.EventID = e.EventID
+WHERE te.TimelineID IN (10, 20, 30, 40, 50);
+
+USE plans_after;
+EXPLAIN
+SELECT te.TimelineID AS ParentTimelineID, e.* FROM timelineevents te
+    INNER JOIN events e ON te.EventID = e.EventID
+WHERE te.TimelineID IN (10, 20, 30, 40, 50);
+
+-- Timeline.checkIfRated, before and after
+USE plans_before;
+EXPLAIN
+SELECT COUNT(*) FROM ratings WHERE UserID = 7 AND TimeLineID = 500;
+
+USE plans_after;
+EXPLAIN
+SELECT COUNT(*) FROM ratings WHERE UserID = 7 AND TimeLineID = 500;
+
+-- Timeline.calcRating, before and after
+USE plans_before;
+EXPLAIN
+SELECT AVG(Rating) FROM ratings WHERE TimeLineID = 500;
+
+USE plans_after;
+EXPLAIN
+SELECT AVG(Rating) FROM ratings WHERE TimeLineID = 500;
+
+DROP DATABASE plans_before;
+DROP DATABASE plans_after;